@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useHistory, useParams } from 'react-router-dom';
 import axios from 'axios';
 import DOMPurify from 'dompurify';
@@ -9,6 +9,7 @@ function PostDetail() {
   const [user, setUser] = useState(null);
   const [comment, setComment] = useState('');
   const [comments, setComments] = useState([]);
+  const [nextCommentCursor, setNextCommentCursor] = useState(null);
   const [files, setFiles] = useState([]);
   const [showDeleteModal, setShowDeleteModal] = useState(false);
   const [showEditMenu, setShowEditMenu] = useState(false);
@@ -17,11 +18,26 @@ function PostDetail() {
   const history = useHistory();
   const { id } = useParams();
 
+  // SSE 핸들러에서 최신 댓글 상태를 읽기 위한 참조
+  const commentsRef = useRef(comments);
+  const nextCommentCursorRef = useRef(nextCommentCursor);
+  commentsRef.current = comments;
+  nextCommentCursorRef.current = nextCommentCursor;
+  // 댓글 수에 이미 반영한 새 댓글 (작성 응답과 SSE 알림이 둘 다 와도 한 번만 셈)
+  const countedCommentIds = useRef(new Set());
+
   useEffect(() => {
     checkAuth();
-    fetchPost();
-    fetchComments();
-    fetchFiles();
+    fetchDetail();
+  }, [id]);
+
+  // 새 댓글 알림 구독 (SSE)
+  useEffect(() => {
+    const source = new EventSource(`/api/streams/posts/${id}`, { withCredentials: true });
+    source.addEventListener('comment', (event) => {
+      handleNewComment(JSON.parse(event.data).commentId);
+    });
+    return () => source.close();
   }, [id]);
 
   const checkAuth = async () => {
@@ -33,6 +49,19 @@ function PostDetail() {
     }
   };
 
+  // 게시글 + 댓글 + 첨부파일을 한 번에 조회
+  const fetchDetail = async () => {
+    try {
+      const response = await axios.get(`/api/posts/${id}/detail`);
+      setPost(response.data.post);
+      setComments(response.data.comments);
+      setNextCommentCursor(response.data.nextCommentCursor);
+      setFiles(response.data.files);
+    } catch (err) {
+      console.error('게시글 로딩 실패:', err);
+    }
+  };
+
   const fetchPost = async () => {
     try {
       const response = await axios.get(`/api/posts/${id}`);
@@ -42,21 +71,51 @@ function PostDetail() {
     }
   };
 
-  const fetchComments = async () => {
+  // 서버 커서와 같은 형식 ("작성시각(ms):댓글ID" 의 URL-safe Base64, 패딩 없음)
+  const commentCursorOf = (c) => {
+    return btoa(`${new Date(c.createdAt).getTime()}:${c.commentId}`)
+      .replace(/\+/g, '-')
+      .replace(/\//g, '_')
+      .replace(/=+$/, '');
+  };
+
+  // 마지막으로 불러온 댓글 뒤에 새로 달린 댓글만 이어서 조회
+  // 아직 불러오지 않은 페이지가 있으면 새 댓글은 '댓글 더보기'로 보게 되므로 조회하지 않음
+  const fetchNewComments = async () => {
+    if (nextCommentCursorRef.current) return;
+    const loaded = commentsRef.current;
+    const last = loaded[loaded.length - 1];
     try {
-      const response = await axios.get(`/api/comments/post/${id}`);
-      setComments(response.data);
+      const response = await axios.get(`/api/comments/post/${id}`, {
+        params: last ? { cursor: commentCursorOf(last) } : {}
+      });
+      setComments((prev) => {
+        const loadedIds = new Set(prev.map((c) => c.commentId));
+        return [...prev, ...response.data.filter((c) => !loadedIds.has(c.commentId))];
+      });
+      setNextCommentCursor(response.headers['x-next-cursor'] || null);
     } catch (err) {
       console.error('댓글 로딩 실패:', err);
     }
   };
 
-  const fetchFiles = async () => {
+  const handleNewComment = (commentId) => {
+    if (countedCommentIds.current.has(commentId)) return;
+    countedCommentIds.current.add(commentId);
+    setPost((prev) => prev && { ...prev, commentCount: (prev.commentCount || 0) + 1 });
+    fetchNewComments();
+  };
+
+  // 다음 페이지를 이어서 조회
+  const fetchMoreComments = async () => {
     try {
-      const response = await axios.get(`/api/files/post/${id}`);
-      setFiles(response.data);
+      const response = await axios.get(`/api/comments/post/${id}`, {
+        params: { cursor: nextCommentCursor }
+      });
+      setComments((prev) => [...prev, ...response.data]);
+      setNextCommentCursor(response.headers['x-next-cursor'] || null);
     } catch (err) {
-      console.error('첨부파일 로딩 실패:', err);
+      console.error('댓글 로딩 실패:', err);
     }
   };
 
@@ -153,12 +212,12 @@ function PostDetail() {
     }
 
     try {
-      await axios.post('/api/comments', {
+      const response = await axios.post('/api/comments', {
         postId: id,
         content: comment
       });
       setComment('');
-      fetchComments(); // 댓글 목록 새로고침
+      handleNewComment(response.data.commentId);
     } catch (err) {
       alert(err.response?.data?.error || '댓글 작성에 실패했습니다.');
     }
@@ -171,7 +230,8 @@ function PostDetail() {
 
     try {
       await axios.delete(`/api/comments/${commentId}`);
-      fetchComments(); // 댓글 목록 새로고침
+      setComments((prev) => prev.filter((c) => c.commentId !== commentId));
+      setPost((prev) => prev && { ...prev, commentCount: Math.max((prev.commentCount || 0) - 1, 0) });
     } catch (err) {
       alert(err.response?.data?.error || '댓글 삭제에 실패했습니다.');
     }
@@ -306,7 +366,14 @@ function PostDetail() {
           {/* Attachments (모든 첨부파일 - 이미지 포함) */}
           {files.length > 0 && (
             <div className="post-attachments">
-              <h4 className="attachments-title">첨부파일 ({files.length})</h4>
+              <div className="attachments-header">
+                <h4 className="attachments-title">첨부파일 ({files.length})</h4>
+                {files.length > 1 && (
+                  <a className="attachments-zip-link" href={`/api/files/post/${id}/zip`} download>
+                    전체 다운로드 (ZIP)
+                  </a>
+                )}
+              </div>
               <div className="attachments-list">
                 {files.map((file) => (
                   <div
@@ -314,10 +381,21 @@ function PostDetail() {
                     className="attachment-item"
                     onClick={() => downloadFile(file.fileId, file.originalFilename)}
                   >
-                    <svg width="16" height="16" viewBox="0 0 16 16" fill="none">
-                      <path d="M8 2v8M8 10l3-3M8 10l-3-3" stroke="currentColor" strokeWidth="1.5" strokeLinecap="round" strokeLinejoin="round"/>
-                      <path d="M2 12v1a1 1 0 001 1h10a1 1 0 001-1v-1" stroke="currentColor" strokeWidth="1.5" strokeLinecap="round"/>
-                    </svg>
+                    {file.contentType && file.contentType.startsWith('image/') ? (
+                      <img
+                        className="attachment-thumbnail"
+                        src={`/api/files/download/${file.fileId}?variant=thumb`}
+                        alt={file.originalFilename}
+                        loading="lazy"
+                        width="40"
+                        height="40"
+                      />
+                    ) : (
+                      <svg width="16" height="16" viewBox="0 0 16 16" fill="none">
+                        <path d="M8 2v8M8 10l3-3M8 10l-3-3" stroke="currentColor" strokeWidth="1.5" strokeLinecap="round" strokeLinejoin="round"/>
+                        <path d="M2 12v1a1 1 0 001 1h10a1 1 0 001-1v-1" stroke="currentColor" strokeWidth="1.5" strokeLinecap="round"/>
+                      </svg>
+                    )}
                     <span className="attachment-name">{file.originalFilename}</span>
                     <span className="attachment-size">
                       ({(file.fileSize / 1024).toFixed(1)} KB)
@@ -392,7 +470,7 @@ function PostDetail() {
 
         {/* Comments Section */}
         <div className="comments-section">
-          <h3 className="comments-title">댓글 ({comments.length})</h3>
+          <h3 className="comments-title">댓글 ({post.commentCount != null ? post.commentCount : comments.length})</h3>
 
           {/* Comment Input */}
           <div className="comment-input-container">
@@ -444,6 +522,11 @@ function PostDetail() {
                   </div>
                 </div>
               ))}
+              {nextCommentCursor && (
+                <button className="comments-more-btn" onClick={fetchMoreComments}>
+                  댓글 더보기
+                </button>
+              )}
             </div>
           )}
         </div>
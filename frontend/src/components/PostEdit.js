@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useHistory, useParams } from 'react-router-dom';
 import axios from 'axios';
+import { uploadAttachments, MULTIPART_MAX_SIZE, ATTACHMENT_MAX_SIZE } from '../utils/fileUpload';
 import './PostEdit.css';
 
 function PostEdit() {
@@ -113,8 +114,10 @@ function PostEdit() {
     const files = Array.from(e.target.files);
 
     for (let file of files) {
-      if (file.size > 10 * 1024 * 1024) {
-        alert(`파일 "${file.name}"의 크기가 10MB를 초과합니다.`);
+      // 이미지는 에디터에 삽입되므로 10MB, 그 외 첨부파일은 분할 업로드로 200MB까지
+      const maxSize = file.type.startsWith('image/') ? MULTIPART_MAX_SIZE : ATTACHMENT_MAX_SIZE;
+      if (file.size > maxSize) {
+        alert(`파일 "${file.name}"의 크기가 ${maxSize / (1024 * 1024)}MB를 초과합니다.`);
         return;
       }
     }
@@ -241,20 +244,9 @@ function PostEdit() {
 
       // 새 첨부파일 업로드만 수행 (selectedFiles만 업로드, uploadedImages는 제외)
       if (selectedFiles.length > 0) {
-        for (let file of selectedFiles) {
-          const formData = new FormData();
-          formData.append('file', file);
-          formData.append('postId', id);
-
-          try {
-            await axios.post('/api/files/upload', formData, {
-              headers: {
-                'Content-Type': 'multipart/form-data'
-              }
-            });
-          } catch (fileErr) {
-            console.error('파일 업로드 실패:', fileErr);
-          }
+        const { failed } = await uploadAttachments(selectedFiles, id);
+        if (failed.length > 0) {
+          alert(`첨부파일 ${failed.length}개를 업로드하지 못했습니다.`);
         }
       }
 
@@ -435,7 +427,7 @@ function PostEdit() {
                 </svg>
                 파일 선택
               </button>
-              <p className="field-hint">최대 10MB, 여러 파일 선택 가능</p>
+              <p className="field-hint">최대 200MB (이미지 10MB), 여러 파일 선택 가능</p>
 
               {/* New Selected Files List */}
               {selectedFiles.length > 0 && (
@@ -10,7 +10,9 @@ function PostList() {
   const [currentPage, setCurrentPage] = useState(1);
   const [totalPages, setTotalPages] = useState(1);
   const [totalCount, setTotalCount] = useState(0);
+  const [totalCountApproximate, setTotalCountApproximate] = useState(false);
   const [showUserMenu, setShowUserMenu] = useState(false);
+  const [newPostCount, setNewPostCount] = useState(0);
   const pageSize = 20;
   const history = useHistory();
 
@@ -18,6 +20,15 @@ function PostList() {
     checkAuth();
   }, []);
 
+  // 새 글 알림 구독 (SSE)
+  useEffect(() => {
+    const source = new EventSource('/api/streams/board', { withCredentials: true });
+    source.addEventListener('post', () => {
+      setNewPostCount((count) => count + 1);
+    });
+    return () => source.close();
+  }, []);
+
   useEffect(() => {
     // 검색어가 변경되면 1페이지로 이동
     if (currentPage !== 1) {
@@ -51,7 +62,11 @@ function PostList() {
       setPosts(response.data.posts);
       setTotalPages(response.data.totalPages);
       setTotalCount(response.data.totalCount);
+      setTotalCountApproximate(Boolean(response.data.totalCountApproximate));
       setCurrentPage(response.data.currentPage);
+      if (page === 1) {
+        setNewPostCount(0);
+      }
     } catch (err) {
       console.error('게시글 로딩 실패:', err);
     }
@@ -142,7 +157,7 @@ function PostList() {
         <div className="content-header">
           <div className="title-section">
             <h2>게시판</h2>
-            <p className="post-count">전체 {totalCount}개의 게시글</p>
+            <p className="post-count">전체 {totalCount.toLocaleString()}{totalCountApproximate ? '+' : ''}개의 게시글</p>
           </div>
           <button className="write-button" onClick={() => history.push('/posts/new')}>
             <svg width="16" height="16" viewBox="0 0 16 16" fill="none">
@@ -167,6 +182,16 @@ function PostList() {
           />
         </div>
 
+        {/* New posts notice */}
+        {newPostCount > 0 && (
+          <button
+            className="new-posts-banner"
+            onClick={() => (currentPage === 1 ? fetchPosts(1) : setCurrentPage(1))}
+          >
+            새 글 {newPostCount}개 보기
+          </button>
+        )}
+
         {/* Table - Desktop */}
         <div className="table-container posts-table">
           <table className="board-table">
@@ -0,0 +1,142 @@
+import axios from 'axios';
+
+/**
+ * 첨부파일 업로드 유틸리티
+ */
+
+/** multipart 업로드(/api/files/upload) 최대 크기 */
+export const MULTIPART_MAX_SIZE = 10 * 1024 * 1024;
+
+/** 첨부파일 최대 크기 (이보다 작고 MULTIPART_MAX_SIZE 보다 크면 분할 업로드) */
+export const ATTACHMENT_MAX_SIZE = 200 * 1024 * 1024;
+
+/** 조각 하나의 전송 재시도 횟수 */
+const CHUNK_RETRY_LIMIT = 3;
+
+/** 일괄 업로드(/api/files/upload/batch) 요청 하나의 최대 파일 수 */
+const BATCH_MAX_FILES = 20;
+
+/** 일괄 업로드 요청 하나의 최대 크기 (서버 multipart 요청 제한 50MB 보다 여유 있게) */
+const BATCH_MAX_BYTES = 45 * 1024 * 1024;
+
+/**
+ * 첨부파일 업로드 (큰 파일은 이어받기 가능한 분할 업로드)
+ * @param {File} file - 업로드할 파일
+ * @param {number} postId - 게시글 ID
+ * @returns {Promise<object>} - 등록된 첨부파일 정보
+ */
+export const uploadAttachment = async (file, postId) => {
+  if (file.size <= MULTIPART_MAX_SIZE) {
+    const formData = new FormData();
+    formData.append('file', file);
+    formData.append('postId', postId);
+    const response = await axios.post('/api/files/upload', formData, {
+      headers: {
+        'Content-Type': 'multipart/form-data'
+      }
+    });
+    return response.data;
+  }
+  return uploadInChunks(file, postId);
+};
+
+/**
+ * 첨부파일 여러 개 업로드
+ * 작은 파일은 묶어서 일괄 업로드(요청마다 전부 등록되거나 하나도 등록되지 않음)하고, 큰 파일은 분할 업로드합니다.
+ * @param {File[]} files - 업로드할 파일 목록
+ * @param {number} postId - 게시글 ID
+ * @returns {Promise<{uploaded: object[], failed: File[]}>} - 등록된 첨부파일과 실패한 파일
+ */
+export const uploadAttachments = async (files, postId) => {
+  const uploaded = [];
+  const failed = [];
+
+  const batches = [];
+  let batch = [];
+  let batchBytes = 0;
+  for (const file of files) {
+    if (file.size > MULTIPART_MAX_SIZE) {
+      continue;
+    }
+    if (batch.length === BATCH_MAX_FILES || (batch.length > 0 && batchBytes + file.size > BATCH_MAX_BYTES)) {
+      batches.push(batch);
+      batch = [];
+      batchBytes = 0;
+    }
+    batch.push(file);
+    batchBytes += file.size;
+  }
+  if (batch.length > 0) {
+    batches.push(batch);
+  }
+
+  for (const group of batches) {
+    const formData = new FormData();
+    group.forEach(file => formData.append('files', file));
+    formData.append('postId', postId);
+    try {
+      const response = await axios.post('/api/files/upload/batch', formData, {
+        headers: {
+          'Content-Type': 'multipart/form-data'
+        }
+      });
+      uploaded.push(...response.data);
+    } catch (err) {
+      console.error('일괄 업로드 실패:', err);
+      failed.push(...group);
+    }
+  }
+
+  for (const file of files.filter(f => f.size > MULTIPART_MAX_SIZE)) {
+    try {
+      uploaded.push(await uploadInChunks(file, postId));
+    } catch (err) {
+      console.error('파일 업로드 실패:', err);
+      failed.push(file);
+    }
+  }
+
+  return { uploaded, failed };
+};
+
+/**
+ * 분할 업로드: 시작 → offset 부터 조각 전송 → 완료
+ * 전송이 실패하면 서버가 받은 위치를 다시 조회해 그 위치부터 이어서 보냅니다.
+ */
+const uploadInChunks = async (file, postId) => {
+  const { data: started } = await axios.post('/api/files/uploads', {
+    postId,
+    filename: file.name,
+    contentType: file.type || 'application/octet-stream',
+    size: file.size
+  });
+  const uploadUrl = `/api/files/uploads/${started.uploadId}`;
+
+  let offset = started.offset;
+  let failures = 0;
+  while (offset < file.size) {
+    try {
+      const { data } = await axios.put(uploadUrl, file.slice(offset, offset + started.chunkSize), {
+        params: { offset },
+        headers: { 'Content-Type': 'application/octet-stream' }
+      });
+      offset = data.offset;
+      failures = 0;
+    } catch (err) {
+      if (err.response?.status === 409) {
+        offset = err.response.data.offset;
+        continue;
+      }
+      failures += 1;
+      if (failures > CHUNK_RETRY_LIMIT || (err.response && err.response.status < 500)) {
+        await axios.delete(uploadUrl).catch(() => {});
+        throw err;
+      }
+      const { data } = await axios.get(uploadUrl);
+      offset = data.offset;
+    }
+  }
+
+  const { data: attachment } = await axios.post(`${uploadUrl}/complete`);
+  return attachment;
+};
@@ -0,0 +1,52 @@
+package com.example.boards.config;
+
+import com.example.boards.service.StorageEngine;
+import com.example.boards.service.impl.CachingStorageEngine;
+import com.example.boards.service.impl.LocalStorageEngine;
+import com.example.boards.service.impl.S3StorageEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 첨부파일 저장소 설정 (app.storage)
+ *
+ * engine=local 이면 업로드 디렉토리, engine=s3 이면 S3 호환 저장소를 사용하고,
+ * memory-cache.max-bytes 가 0 보다 크면 그 앞에 메모리 캐시 계층을 둡니다.
+ */
+@Configuration
+public class StorageConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageConfig.class);
+
+    @Bean
+    public StorageEngine storageEngine(@Value("${app.storage.engine:local}") String engine,
+                                       @Value("${file.upload.directory:uploads}") String uploadDir,
+                                       @Value("${app.storage.memory-cache.max-bytes:67108864}") long cacheMaxBytes,
+                                       @Value("${app.storage.memory-cache.max-object-bytes:1048576}") long cacheMaxObjectBytes,
+                                       @Value("${app.storage.s3.endpoint:}") String s3Endpoint,
+                                       @Value("${app.storage.s3.bucket:}") String s3Bucket,
+                                       @Value("${app.storage.s3.region:us-east-1}") String s3Region,
+                                       @Value("${app.storage.s3.access-key:}") String s3AccessKey,
+                                       @Value("${app.storage.s3.secret-key:}") String s3SecretKey) {
+        StorageEngine storageEngine;
+        if ("s3".equalsIgnoreCase(engine)) {
+            if (s3Endpoint.isEmpty() || s3Bucket.isEmpty()) {
+                throw new IllegalStateException("app.storage.s3.endpoint 와 app.storage.s3.bucket 을 설정해야 합니다.");
+            }
+            storageEngine = new S3StorageEngine(s3Endpoint, s3Bucket, s3Region, s3AccessKey, s3SecretKey, uploadDir);
+        } else if ("local".equalsIgnoreCase(engine)) {
+            storageEngine = new LocalStorageEngine(uploadDir);
+        } else {
+            throw new IllegalStateException("지원하지 않는 저장소입니다: " + engine + " (local, s3)");
+        }
+
+        if (cacheMaxBytes > 0) {
+            storageEngine = new CachingStorageEngine(storageEngine, cacheMaxBytes, cacheMaxObjectBytes);
+        }
+        log.info("Attachment storage engine: engine={}, cacheMaxMb={}", engine, cacheMaxBytes / (1024 * 1024));
+        return storageEngine;
+    }
+}
@@ -33,6 +33,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
             .allowedOrigins(allowedOrigins.split(","))
             .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
             .allowedHeaders("*")
+            .exposedHeaders("X-Next-Cursor")
             .allowCredentials(true)
             .maxAge(3600);
     }
@@ -0,0 +1,54 @@
+package com.example.boards.controller;
+
+import com.example.boards.service.ActivityStreamHub;
+import com.example.boards.service.ImageDerivativeService;
+import com.example.boards.service.PostDetailCache;
+import com.example.boards.service.PostListCache;
+import com.example.boards.service.StorageEngine;
+import com.example.boards.service.UploadLayoutMigrationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 메모리 캐시 적중률 조회 (캐시 크기 조정용)
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+
+    @Autowired
+    private PostListCache postListCache;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private UploadLayoutMigrationService uploadLayoutMigrationService;
+
+    @Autowired
+    private StorageEngine storageEngine;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("postList", postListCache.stats());
+        response.put("postDetail", postDetailCache.stats());
+        response.put("streams", activityStreamHub.stats());
+        response.put("thumbnails", imageDerivativeService.stats());
+        response.put("uploadLayoutMigration", uploadLayoutMigrationService.stats());
+        response.put("storage", storageEngine.stats());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.boards.controller;
+
+import com.example.boards.dto.ChunkedUploadRequest;
+import com.example.boards.dto.ChunkedUploadStatus;
+import com.example.boards.dto.PostAccess;
+import com.example.boards.exception.UploadLimitExceededException;
+import com.example.boards.exception.UploadOffsetMismatchException;
+import com.example.boards.model.FileAttachment;
+import com.example.boards.service.ChunkedUploadService;
+import com.example.boards.service.PostService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 이어받기 가능한 분할 업로드 API
+ *
+ * 1. POST   /api/files/uploads                     업로드 시작 (postId, filename, contentType, size)
+ * 2. PUT    /api/files/uploads/{uploadId}?offset=N  조각 전송 (본문은 application/octet-stream 원본 바이트)
+ *    GET    /api/files/uploads/{uploadId}           이어서 보낼 위치 조회
+ * 3. POST   /api/files/uploads/{uploadId}/complete  완료 및 첨부파일 등록
+ *    DELETE /api/files/uploads/{uploadId}           취소
+ */
+@RestController
+@RequestMapping("/api/files/uploads")
+public class ChunkedUploadController {
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private PostService postService;
+
+    @PostMapping
+    public ResponseEntity<?> initiate(@RequestBody ChunkedUploadRequest request, HttpSession session) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "로그인이 필요합니다.");
+            return ResponseEntity.status(401).body(error);
+        }
+
+        if (request.getPostId() != null) {
+            PostAccess post = postService.getPostAccess(request.getPostId());
+            if (post == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "게시글을 찾을 수 없습니다.");
+                return ResponseEntity.status(404).body(error);
+            }
+            if (!post.getAuthorId().equals(userId)) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "파일을 업로드할 권한이 없습니다.");
+                return ResponseEntity.status(403).body(error);
+            }
+        }
+
+        try {
+            return ResponseEntity.ok(chunkedUploadService.initiate(userId, request));
+        } catch (UploadLimitExceededException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(429).body(error);
+        } catch (IOException e) {
+            System.out.println("ERROR: 분할 업로드 시작 실패 - " + e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "파일 업로드에 실패했습니다.");
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> getStatus(@PathVariable String uploadId, HttpSession session) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "로그인이 필요합니다.");
+            return ResponseEntity.status(401).body(error);
+        }
+
+        ChunkedUploadStatus status = chunkedUploadService.getStatus(uploadId, userId);
+        if (status == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "업로드를 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(error);
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId,
+                                         @RequestParam long offset,
+                                         HttpSession session,
+                                         HttpServletRequest request) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "로그인이 필요합니다.");
+            return ResponseEntity.status(401).body(error);
+        }
+
+        try (InputStream body = request.getInputStream()) {
+            ChunkedUploadStatus status = chunkedUploadService.appendChunk(uploadId, userId, offset, body);
+            if (status == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "업로드를 찾을 수 없습니다.");
+                return ResponseEntity.status(404).body(error);
+            }
+            return ResponseEntity.ok(status);
+        } catch (UploadOffsetMismatchException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            error.put("offset", e.getExpectedOffset());
+            return ResponseEntity.status(409).body(error);
+        } catch (IOException e) {
+            // 연결 끊김 등: 받은 부분까지는 유지되므로 클라이언트는 상태 조회 후 이어서 전송
+            System.out.println("ERROR: 조각 수신 실패 - " + e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "조각 전송에 실패했습니다. 업로드 상태를 확인 후 이어서 보내주세요.");
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(@PathVariable String uploadId, HttpSession session) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "로그인이 필요합니다.");
+            return ResponseEntity.status(401).body(error);
+        }
+
+        try {
+            FileAttachment file = chunkedUploadService.complete(uploadId, userId);
+            if (file == null) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "업로드를 찾을 수 없습니다.");
+                return ResponseEntity.status(404).body(error);
+            }
+            return ResponseEntity.ok(file);
+        } catch (IOException e) {
+            System.out.println("ERROR: 분할 업로드 완료 실패 - " + e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "파일 업로드에 실패했습니다.");
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abort(@PathVariable String uploadId, HttpSession session) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "로그인이 필요합니다.");
+            return ResponseEntity.status(401).body(error);
+        }
+
+        if (!chunkedUploadService.abort(uploadId, userId)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "업로드를 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(error);
+        }
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "업로드가 취소되었습니다.");
+        return ResponseEntity.ok(response);
+    }
+}
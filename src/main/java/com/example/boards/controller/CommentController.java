@@ -1,10 +1,15 @@
 package com.example.boards.controller;
 
+import com.example.boards.dto.CommentCursor;
+import com.example.boards.dto.CommentPage;
 import com.example.boards.model.Comment;
 import com.example.boards.service.CommentService;
+import com.example.boards.service.ContentVersionTracker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpSession;
 import java.util.HashMap;
@@ -15,13 +20,44 @@ import java.util.Map;
 @RequestMapping("/api/comments")
 public class CommentController {
 
+    /** 다음 댓글 페이지 커서 응답 헤더 */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private ContentVersionTracker contentVersionTracker;
+
+    /**
+     * 게시글 댓글 조회 (오래된 순, 커서 페이지네이션)
+     *
+     * 다음 페이지가 있으면 X-Next-Cursor 응답 헤더로 커서를 전달합니다.
+     *
+     * @param cursor 이전 응답의 X-Next-Cursor (첫 페이지는 생략)
+     * @param limit 조회할 댓글 수 (생략 시 app.comments.page.default-size)
+     */
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<Comment>> getCommentsByPostId(@PathVariable Long postId) {
-        List<Comment> comments = commentService.getCommentsByPostId(postId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<List<Comment>> getCommentsByPostId(@PathVariable Long postId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             WebRequest request) {
+        // 댓글 변경이 없으면 조회 없이 304
+        String etag = contentVersionTracker.commentsETag(postId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        CommentCursor after = cursor == null || cursor.isEmpty() ? null : CommentCursor.decode(cursor);
+        CommentPage page = commentService.getCommentsPage(postId, after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getComments());
     }
 
     @PostMapping
@@ -55,6 +91,7 @@ public class CommentController {
         }
 
         comment.setCommentId(commentId);
+        comment.setPostId(existingComment.getPostId());
         comment.setAuthorId(userId);
         commentService.updateComment(comment);
         return ResponseEntity.ok(comment);
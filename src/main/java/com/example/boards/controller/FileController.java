@@ -1,30 +1,32 @@
 package com.example.boards.controller;
 
+import com.example.boards.dto.PostAccess;
 import com.example.boards.model.FileAttachment;
+import com.example.boards.service.AttachmentContentStore;
+import com.example.boards.service.AttachmentZipService;
+import com.example.boards.service.BatchUploadService;
 import com.example.boards.service.FileAttachmentService;
+import com.example.boards.service.ImageDerivativeService;
+import com.example.boards.service.StorageEngine;
 import com.example.boards.util.ExcelValidator;
-import com.example.boards.util.FilePathSanitizer;
+import com.example.boards.util.RangeFileSender;
+import com.example.boards.util.StreamingUploadWriter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/files")
@@ -36,16 +38,23 @@ public class FileController {
     @Autowired
     private com.example.boards.service.PostService postService;
 
-    private final String uploadDir = "uploads";
+    @Autowired
+    private AttachmentContentStore attachmentContentStore;
 
-    public FileController() {
-        // Create uploads directory if it doesn't exist
-        try {
-            Files.createDirectories(Paths.get(uploadDir));
-        } catch (IOException e) {
-            throw new RuntimeException("Could not create upload directory", e);
-        }
-    }
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private StorageEngine storageEngine;
+
+    @Autowired
+    private BatchUploadService batchUploadService;
+
+    @Autowired
+    private AttachmentZipService attachmentZipService;
+
+    /** 첨부파일은 내용이 바뀌지 않으므로 브라우저에서 1년간 재검증 없이 사용 (로그인 사용자 전용이라 private) */
+    private static final String ATTACHMENT_CACHE_CONTROL = "private, max-age=31536000, immutable";
 
     @GetMapping("/post/{postId}")
     public ResponseEntity<List<FileAttachment>> getFilesByPostId(@PathVariable Long postId) {
@@ -59,6 +68,48 @@ public class FileController {
         return ResponseEntity.ok(files);
     }
 
+    /**
+     * 게시글의 모든 첨부파일을 ZIP 하나로 다운로드 (응답으로 바로 스트리밍)
+     */
+    @GetMapping("/post/{postId}/zip")
+    public ResponseEntity<?> downloadZip(@PathVariable Long postId,
+                                         HttpSession session,
+                                         HttpServletResponse response) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "로그인이 필요합니다.");
+            return ResponseEntity.status(401).body(error);
+        }
+
+        // AUTHORIZATION CHECK: Verify user owns the post
+        PostAccess post = postService.getPostAccess(postId);
+        if (post == null || !post.getAuthorId().equals(userId)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "파일 다운로드 권한이 없습니다.");
+            return ResponseEntity.status(403).body(error);
+        }
+
+        List<FileAttachment> files = fileAttachmentService.getFilesByPostId(postId);
+        if (files.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // 크기를 미리 알 수 없으므로 chunked 전송
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition", "attachment; filename=\"post-" + postId + "-attachments.zip\"");
+        response.setHeader("Cache-Control", "private, no-cache");
+        try {
+            int written = attachmentZipService.write(files, response.getOutputStream());
+            response.flushBuffer();
+            System.out.println("첨부파일 ZIP 전송 완료: postId " + postId + ", " + written + "/" + files.size() + "개");
+            return null;
+        } catch (IOException e) {
+            System.out.println("ERROR: 첨부파일 ZIP 전송 실패 - " + e.getMessage());
+            return response.isCommitted() ? null : ResponseEntity.status(500).build();
+        }
+    }
+
     @PostMapping("/upload")
     public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file,
                                         @RequestParam("postId") Long postId,
@@ -93,47 +144,49 @@ public class FileController {
 
         String originalFilename = file.getOriginalFilename();
 
-        // 엑셀 파일인 경우 POI로 검증
+        // 엑셀 파일이면 저장하면서 같은 스트림으로 POI 검증
+        Function<InputStream, Map<String, Object>> validator = null;
         if (ExcelValidator.isExcelFile(originalFilename)) {
-            System.out.println("엑셀 파일 감지, 유효성 검증 시작...");
-            try (InputStream inputStream = file.getInputStream()) {
-                Map<String, Object> validationResult = ExcelValidator.validateExcelFile(inputStream, originalFilename);
+            System.out.println("엑셀 파일 감지, 저장과 함께 유효성 검증...");
+            validator = in -> ExcelValidator.validateExcelFile(in, originalFilename);
+        }
 
-                if (!(Boolean) validationResult.get("isValid")) {
-                    System.out.println("ERROR: 엑셀 파일 검증 실패");
-                    Map<String, String> error = new HashMap<>();
-                    error.put("error", (String) validationResult.get("error"));
-                    return ResponseEntity.badRequest().body(error);
-                }
+        if (originalFilename == null || originalFilename.trim().isEmpty()) {
+            System.out.println("ERROR: 파일명 없음");
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "파일명이 비어있습니다.");
+            return ResponseEntity.badRequest().body(error);
+        }
 
-                System.out.println("엑셀 파일 검증 성공!");
-                System.out.println("- 시트 개수: " + validationResult.get("numberOfSheets"));
-                System.out.println("- 파일 형식: " + validationResult.get("fileType"));
-            } catch (IOException e) {
-                System.out.println("ERROR: 엑셀 파일 읽기 실패");
+        try {
+            // 임시 위치에 저장하면서 SHA-256 계산 (파일명은 내용 해시이므로 경로 조작 불가)
+            StreamingUploadWriter.StoredUpload stored;
+            try (InputStream inputStream = file.getInputStream()) {
+                stored = attachmentContentStore.stage(inputStream, validator);
+            }
+            if (!stored.isValid()) {
+                System.out.println("ERROR: 엑셀 파일 검증 실패");
                 Map<String, String> error = new HashMap<>();
-                error.put("error", "엑셀 파일을 읽을 수 없습니다.");
+                error.put("error", (String) stored.getValidation().get("error"));
                 return ResponseEntity.badRequest().body(error);
             }
-        }
-
-        try {
-            // Path traversal protection
-            Path filePath = FilePathSanitizer.sanitizeFilePath(uploadDir, originalFilename);
-            String storedFilename = filePath.getFileName().toString();
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            System.out.println("파일 저장 완료: " + filePath.toString());
 
             FileAttachment fileAttachment = new FileAttachment();
             fileAttachment.setPostId(postId);
             fileAttachment.setOriginalFilename(originalFilename);
-            fileAttachment.setStoredFilename(storedFilename);
-            fileAttachment.setFilePath(filePath.toString());
-            fileAttachment.setFileSize(file.getSize());
             fileAttachment.setContentType(file.getContentType());
 
-            fileAttachmentService.createFile(fileAttachment);
+            // 같은 내용의 파일이 이미 있으면 행만 추가
+            boolean deduplicated = attachmentContentStore.commit(stored, fileAttachment,
+                    () -> {
+                        fileAttachmentService.createFile(fileAttachment);
+                        return fileAttachment;
+                    });
+            System.out.println((deduplicated ? "기존 파일 재사용: " : "파일 저장 완료: ")
+                    + fileAttachment.getFilePath());
             System.out.println("파일 정보 DB 저장 완료. fileId: " + fileAttachment.getFileId());
+            // 이미지면 썸네일/미리보기를 백그라운드에서 생성
+            imageDerivativeService.enqueue(fileAttachment);
             System.out.println("=== 파일 업로드 성공 ===");
             return ResponseEntity.ok(fileAttachment);
         } catch (IOException e) {
@@ -145,10 +198,58 @@ public class FileController {
         }
     }
 
+    /**
+     * 여러 파일을 한 번에 업로드 (모두 등록되거나 하나도 등록되지 않음)
+     */
+    @PostMapping("/upload/batch")
+    public ResponseEntity<?> uploadFiles(@RequestParam("files") List<MultipartFile> files,
+                                         @RequestParam("postId") Long postId,
+                                         HttpSession session) {
+        System.out.println("=== 일괄 업로드 시작 ===");
+        System.out.println("postId: " + postId + ", 파일 개수: " + files.size());
+
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "로그인이 필요합니다.");
+            return ResponseEntity.status(401).body(error);
+        }
+
+        PostAccess post = postService.getPostAccess(postId);
+        if (post == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "게시글을 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(error);
+        }
+        if (!post.getAuthorId().equals(userId)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "파일을 업로드할 권한이 없습니다.");
+            return ResponseEntity.status(403).body(error);
+        }
+
+        try {
+            return ResponseEntity.ok(batchUploadService.upload(postId, files));
+        } catch (IllegalArgumentException e) {
+            System.out.println("ERROR: 일괄 업로드 거부 - " + e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (IOException e) {
+            System.out.println("ERROR: 일괄 업로드 실패 - " + e.getMessage());
+            e.printStackTrace();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "파일 업로드에 실패했습니다.");
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
     @GetMapping("/download/{fileId}")
     public ResponseEntity<?> downloadFile(@PathVariable Long fileId,
                                          @RequestParam(required = false, defaultValue = "false") boolean inline,
-                                         HttpSession session) {
+                                         @RequestParam(required = false) String variant,
+                                         HttpSession session,
+                                         HttpServletRequest request,
+                                         HttpServletResponse response) {
         String userId = (String) session.getAttribute("userId");
         if (userId == null) {
             Map<String, String> error = new HashMap<>();
@@ -162,42 +263,100 @@ public class FileController {
         }
 
         // AUTHORIZATION CHECK: Verify user owns the post
-        com.example.boards.model.Post post = postService.getPostById(fileAttachment.getPostId());
+        PostAccess post = postService.getPostAccess(fileAttachment.getPostId());
         if (post == null || !post.getAuthorId().equals(userId)) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "파일 다운로드 권한이 없습니다.");
             return ResponseEntity.status(403).body(error);
         }
 
+        // variant=thumb|medium: 이미지 축소본 (이미지가 아니거나 만들 수 없으면 원본)
+        ImageDerivativeService.Variant imageVariant = null;
+        if (variant != null && !variant.isEmpty()) {
+            try {
+                imageVariant = ImageDerivativeService.Variant.from(variant);
+            } catch (IllegalArgumentException e) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", e.getMessage());
+                return ResponseEntity.badRequest().body(error);
+            }
+        }
+
+        // 저장된 파일 내용은 바뀌지 않으므로 캐시 검증은 파일을 열기 전에 메타데이터만으로 처리
+        String etag = attachmentETag(fileAttachment, imageVariant);
+        long lastModified = fileAttachment.getCreatedAt() != null ? fileAttachment.getCreatedAt().getTime() : -1;
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            response.setHeader("Cache-Control", ATTACHMENT_CACHE_CONTROL);
+            return null;
+        }
+
         try {
-            Path filePath = Paths.get(fileAttachment.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
+            String key = fileAttachment.getFilePath();
+            StorageEngine.ObjectInfo info = storageEngine.stat(key);
+            if (info == null) {
+                return ResponseEntity.notFound().build();
+            }
 
-            if (resource.exists() || resource.isReadable()) {
-                String contentType = fileAttachment.getContentType();
-                if (contentType == null) {
-                    contentType = "application/octet-stream";
-                }
+            String contentType = fileAttachment.getContentType();
+            if (contentType == null) {
+                contentType = "application/octet-stream";
+            }
 
-                // 이미지 파일이면 inline으로 표시, 아니면 attachment로 다운로드
-                String dispositionType = "attachment";
-                if (contentType != null && contentType.startsWith("image/")) {
-                    dispositionType = "inline";
+            String cacheControl = ATTACHMENT_CACHE_CONTROL;
+            if (imageVariant != null) {
+                try {
+                    // 백그라운드 생성 전이면 지금 생성
+                    String derivative = imageDerivativeService.resolve(fileAttachment, imageVariant);
+                    StorageEngine.ObjectInfo derivativeInfo = derivative != null ? storageEngine.stat(derivative) : null;
+                    if (derivativeInfo != null) {
+                        key = derivative;
+                        info = derivativeInfo;
+                        contentType = ImageDerivativeService.derivativeContentType(fileAttachment.getContentType());
+                    }
+                } catch (IOException e) {
+                    // 일시적인 실패일 수 있으므로 원본을 보내되 축소본 주소로 캐시되지 않게 함
+                    System.out.println("ERROR: 축소본 생성 실패 - " + e.getMessage());
+                    cacheControl = "no-store";
                 }
+            }
+            response.setHeader("Cache-Control", cacheControl);
 
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION,
-                                dispositionType + "; filename=\"" + fileAttachment.getOriginalFilename() + "\"")
-                        .body(resource);
+            // 이미지 파일이면 inline으로 표시, 아니면 attachment로 다운로드
+            String dispositionType = "attachment";
+            if (contentType.startsWith("image/")) {
+                dispositionType = "inline";
+            }
+            String disposition = dispositionType + "; filename=\"" + fileAttachment.getOriginalFilename() + "\"";
+
+            // Range 요청(이어받기, 동영상/PDF 탐색)은 206 부분 응답
+            // 로컬 파일은 sendfile, 메모리 캐시/원격 저장소는 저장소에서 요청 구간만 복사
+            if (info.getFile() != null) {
+                RangeFileSender.send(request, response, info.getFile(), contentType, disposition, etag);
             } else {
-                return ResponseEntity.notFound().build();
+                String storageKey = key;
+                RangeFileSender.send(request, response, info.getSize(),
+                        (offset, length, out) -> storageEngine.stream(storageKey, offset, length, out),
+                        contentType, disposition, etag);
             }
-        } catch (MalformedURLException e) {
-            return ResponseEntity.badRequest().build();
+            return null;
+        } catch (IOException e) {
+            System.out.println("ERROR: 파일 전송 실패 - " + e.getMessage());
+            return response.isCommitted() ? null : ResponseEntity.status(500).build();
         }
     }
 
+    /**
+     * 첨부파일의 강한 ETag
+     * 같은 fileId 가 가리키는 내용은 바뀌지 않으므로(UUID 파일명 또는 내용 해시) 메타데이터만으로 만듭니다.
+     *
+     * @param variant 축소본 종류 (원본이면 null)
+     */
+    private String attachmentETag(FileAttachment fileAttachment, ImageDerivativeService.Variant variant) {
+        long createdAt = fileAttachment.getCreatedAt() != null ? fileAttachment.getCreatedAt().getTime() : 0;
+        String suffix = variant != null ? "-" + variant.getKey() : "";
+        return "\"a" + fileAttachment.getFileId() + "-" + fileAttachment.getFileSize() + "-" + createdAt + suffix + "\"";
+    }
+
     @DeleteMapping("/{fileId}")
     public ResponseEntity<?> deleteFile(@PathVariable Long fileId, HttpSession session) {
         String userId = (String) session.getAttribute("userId");
@@ -214,21 +373,11 @@ public class FileController {
             return ResponseEntity.notFound().build();
         }
 
-        try {
-            // Delete physical file
-            Path filePath = Paths.get(fileAttachment.getFilePath());
-            Files.deleteIfExists(filePath);
-
-            // Delete database record
-            fileAttachmentService.deleteFile(fileId);
+        // Delete database record (실제 파일은 커밋 후 마지막 참조일 때만 삭제)
+        fileAttachmentService.deleteFile(fileId);
 
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "파일이 삭제되었습니다.");
-            return ResponseEntity.ok(response);
-        } catch (IOException e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "파일 삭제에 실패했습니다.");
-            return ResponseEntity.status(500).body(error);
-        }
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "파일이 삭제되었습니다.");
+        return ResponseEntity.ok(response);
     }
 }
@@ -1,26 +1,35 @@
 package com.example.boards.controller;
 
+import com.example.boards.dto.PostAccess;
+import com.example.boards.dto.PostCount;
+import com.example.boards.dto.PostCursor;
+import com.example.boards.dto.PostDetail;
+import com.example.boards.dto.PostPage;
+import com.example.boards.dto.PostSummary;
 import com.example.boards.model.Post;
+import com.example.boards.service.AttachmentContentStore;
+import com.example.boards.service.ContentVersionTracker;
+import com.example.boards.service.PostDetailService;
 import com.example.boards.service.PostService;
+import com.example.boards.service.StorageEngine;
 import com.example.boards.util.ExcelValidator;
 import com.example.boards.util.FilePathSanitizer;
+import com.example.boards.util.RangeFileSender;
+import com.example.boards.util.StreamingUploadWriter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,31 +42,59 @@ public class PostController {
     @Autowired
     private PostService postService;
 
-    private final String uploadDir = "uploads";
+    @Autowired
+    private PostDetailService postDetailService;
 
-    public PostController() {
-        // Create uploads directory if it doesn't exist
-        try {
-            Files.createDirectories(Paths.get(uploadDir));
-        } catch (IOException e) {
-            throw new RuntimeException("Could not create upload directory", e);
-        }
-    }
+    @Autowired
+    private ContentVersionTracker contentVersionTracker;
+
+    @Autowired
+    private AttachmentContentStore attachmentContentStore;
+
+    @Autowired
+    private StorageEngine storageEngine;
+
+    /** 한 번에 조회할 최대 게시글 수 */
+    @Value("${app.posts.page.max-size:100}")
+    private int maxPageSize;
+
+    /** ETag 응답: 브라우저에 저장하되 매번 If-None-Match 로 재검증 */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllPosts(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean searchContent,
+            WebRequest request) {
+
+        // 게시판에 변경이 없으면 조회 없이 304
+        String etag = contentVersionTracker.listETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        size = Math.max(1, Math.min(size, maxPageSize));
+
+        // cursor 파라미터가 있으면 키셋 페이지네이션 (빈 값이면 첫 페이지)
+        if (cursor != null) {
+            return getPostsByCursor(size, search, cursor, etag);
+        }
 
         int offset = (page - 1) * size;
-        List<Post> posts = postService.getAllPosts(size, offset, search);
-        int totalCount = postService.getTotalCount(search);
+        PostPage postPage = postService.getPostPage(size, offset, search, searchContent);
+        List<PostSummary> posts = postPage.getPosts();
+        PostCount postCount = postPage.getCount();
+        int totalCount = postCount.getCount();
         int totalPages = (int) Math.ceil((double) totalCount / size);
 
         Map<String, Object> response = new HashMap<>();
         response.put("posts", posts);
         response.put("totalCount", totalCount);
+        // true 이면 totalCount 는 하한값 (예: "10,000+")
+        response.put("totalCountApproximate", postCount.isApproximate());
         response.put("totalPages", totalPages);
         response.put("currentPage", page);
         response.put("pageSize", size);
@@ -66,15 +103,80 @@ public class PostController {
         System.out.println("검색어: " + (search != null ? search : "없음"));
         System.out.println("페이지: " + page + " / " + totalPages);
         System.out.println("조회된 게시글: " + posts.size() + "개");
-        System.out.println("전체 게시글: " + totalCount + "개");
+        System.out.println("전체 게시글: " + totalCount + (postCount.isApproximate() ? "+" : "") + "개");
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> getPostsByCursor(int size, String search, String cursor, String etag) {
+        PostCursor after = cursor.isEmpty() ? null : PostCursor.decode(cursor);
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<PostSummary> posts = postService.getPostsAfterCursor(size + 1, after, search);
+        boolean hasNext = posts.size() > size;
+        if (hasNext) {
+            posts = posts.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostSummary last = posts.get(posts.size() - 1);
+            nextCursor = new PostCursor(Boolean.TRUE.equals(last.getIsNotice()),
+                    last.getCreatedAt(), last.getPostId()).encode();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("posts", posts);
+        response.put("nextCursor", nextCursor);
+        response.put("hasNext", hasNext);
+        response.put("pageSize", size);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(response);
     }
 
     @GetMapping("/{postId}")
-    public ResponseEntity<Post> getPost(@PathVariable Long postId) {
+    public ResponseEntity<Post> getPost(@PathVariable Long postId, WebRequest request) {
+        // 변경이 없으면 게시글 본문을 읽지 않고 304 (조회수는 증가, 없는 게시글은 기록하지 않음)
+        String etag = contentVersionTracker.postETag(postId);
+        if (request.checkNotModified(etag)) {
+            postService.recordView(postId);
+            return null;
+        }
+
         Post post = postService.getPostById(postId);
-        return ResponseEntity.ok(post);
+        if (post == null) {
+            return ResponseEntity.ok(null);
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(post);
+    }
+
+    /**
+     * 게시글 상세 화면용 통합 조회 (게시글 + 댓글 + 첨부파일)
+     *
+     * @param commentLimit 포함할 첫 댓글 수 (생략 시 댓글 기본 페이지 크기, 이후 댓글은 nextCommentCursor 로 조회)
+     */
+    @GetMapping("/{postId}/detail")
+    public ResponseEntity<?> getPostDetail(@PathVariable Long postId,
+                                           @RequestParam(required = false) Integer commentLimit,
+                                           WebRequest request) {
+        if (commentLimit != null && (commentLimit < 1 || commentLimit > 100)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "commentLimit 은 1 ~ 100 사이여야 합니다.");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        String etag = contentVersionTracker.postETag(postId);
+        if (request.checkNotModified(etag)) {
+            postService.recordView(postId);
+            return null;
+        }
+
+        PostDetail detail = postDetailService.getPostDetail(postId, commentLimit);
+        if (detail == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "게시글을 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(error);
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(detail);
     }
 
     @PostMapping
@@ -104,7 +206,12 @@ public class PostController {
             return ResponseEntity.status(401).body(error);
         }
 
-        Post existingPost = postService.getPostById(postId);
+        PostAccess existingPost = postService.getPostAccess(postId);
+        if (existingPost == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "게시글을 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(error);
+        }
         if (!existingPost.getAuthorId().equals(userId)) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "수정 권한이 없습니다.");
@@ -126,7 +233,12 @@ public class PostController {
             return ResponseEntity.status(401).body(error);
         }
 
-        Post existingPost = postService.getPostById(postId);
+        PostAccess existingPost = postService.getPostAccess(postId);
+        if (existingPost == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "게시글을 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(error);
+        }
         if (!existingPost.getAuthorId().equals(userId)) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "삭제 권한이 없습니다.");
@@ -158,7 +270,13 @@ public class PostController {
         }
 
         // Verify post exists and user has permission
-        Post existingPost = postService.getPostById(postId);
+        PostAccess existingPost = postService.getPostAccess(postId);
+        if (existingPost == null) {
+            System.out.println("ERROR: 게시글 없음");
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "게시글을 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(error);
+        }
         if (!existingPost.getAuthorId().equals(userId)) {
             System.out.println("ERROR: 권한 없음");
             Map<String, String> error = new HashMap<>();
@@ -191,49 +309,51 @@ public class PostController {
             return ResponseEntity.badRequest().body(error);
         }
 
-        // Validate Excel file with POI
-        try (InputStream inputStream = file.getInputStream()) {
-            Map<String, Object> validationResult = ExcelValidator.validateExcelFile(inputStream, originalFilename);
+        try {
+            // Save new file with path traversal protection (POI 검증은 임시 저장하면서 같은 스트림으로)
+            String storedFilename = FilePathSanitizer.sanitizeStoredFilename(originalFilename);
 
-            if (!(Boolean) validationResult.get("isValid")) {
+            StreamingUploadWriter.StoredUpload stored;
+            try (InputStream inputStream = file.getInputStream()) {
+                stored = attachmentContentStore.stage(inputStream,
+                        in -> ExcelValidator.validateExcelFile(in, originalFilename));
+            }
+            if (!stored.isValid()) {
                 System.out.println("ERROR: 엑셀 파일 검증 실패");
                 Map<String, String> error = new HashMap<>();
-                error.put("error", (String) validationResult.get("error"));
+                error.put("error", (String) stored.getValidation().get("error"));
                 return ResponseEntity.badRequest().body(error);
             }
 
-            System.out.println("엑셀 파일 검증 성공!");
-            System.out.println("- 시트 개수: " + validationResult.get("numberOfSheets"));
-            System.out.println("- 파일 형식: " + validationResult.get("fileType"));
-        } catch (IOException e) {
-            System.out.println("ERROR: 엑셀 파일 읽기 실패");
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "엑셀 파일을 읽을 수 없습니다.");
-            return ResponseEntity.badRequest().body(error);
-        }
-
-        try {
-            // Delete old Excel file if exists
-            if (existingPost.getExcelStoredFilename() != null) {
-                Path oldFilePath = Paths.get(uploadDir, existingPost.getExcelStoredFilename());
-                Files.deleteIfExists(oldFilePath);
-                System.out.println("기존 엑셀 파일 삭제: " + oldFilePath.toString());
+            String fileKey = storageEngine.keyFor(storedFilename);
+            try {
+                storageEngine.put(fileKey, stored.getPath());
+            } finally {
+                Files.deleteIfExists(stored.getPath());
+            }
+            System.out.println("엑셀 파일 저장 완료: " + fileKey + " (sha256: " + stored.getSha256() + ")");
+            System.out.println("- 시트 개수: " + stored.getValidation().get("numberOfSheets"));
+            System.out.println("- 파일 형식: " + stored.getValidation().get("fileType"));
+
+            // Update database (실패하면 새 파일을 지우고 기존 파일은 유지)
+            try {
+                postService.updateExcelFile(postId, originalFilename, storedFilename,
+                                           fileKey, stored.getSize());
+            } catch (RuntimeException e) {
+                storageEngine.delete(fileKey);
+                throw e;
             }
 
-            // Save new file with path traversal protection
-            Path filePath = FilePathSanitizer.sanitizeFilePath(uploadDir, originalFilename);
-            String storedFilename = filePath.getFileName().toString();
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            System.out.println("엑셀 파일 저장 완료: " + filePath.toString());
-
-            // Update database
-            postService.updateExcelFile(postId, originalFilename, storedFilename,
-                                       filePath.toString(), file.getSize());
+            // Delete old Excel file after the new one is committed
+            if (existingPost.getExcelFilePath() != null) {
+                storageEngine.delete(existingPost.getExcelFilePath());
+                System.out.println("기존 엑셀 파일 삭제: " + existingPost.getExcelFilePath());
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "엑셀 파일이 업로드되었습니다.");
             response.put("filename", originalFilename);
-            response.put("fileSize", file.getSize());
+            response.put("fileSize", stored.getSize());
             System.out.println("=== 엑셀 파일 업로드 성공 ===");
             return ResponseEntity.ok(response);
         } catch (IOException e) {
@@ -247,7 +367,8 @@ public class PostController {
 
     // Excel file download
     @GetMapping("/{postId}/excel/download")
-    public ResponseEntity<?> downloadExcel(@PathVariable Long postId, HttpSession session) {
+    public ResponseEntity<?> downloadExcel(@PathVariable Long postId, HttpSession session,
+                                           HttpServletRequest request, HttpServletResponse response) {
         System.out.println("=== 엑셀 파일 다운로드 ===");
         System.out.println("postId: " + postId);
 
@@ -259,8 +380,8 @@ public class PostController {
             return ResponseEntity.status(401).body(error);
         }
 
-        Post post = postService.getPostById(postId);
-        if (post.getExcelStoredFilename() == null) {
+        PostAccess post = postService.getPostAccess(postId);
+        if (post == null || post.getExcelStoredFilename() == null) {
             System.out.println("ERROR: 엑셀 파일이 없음");
             Map<String, String> error = new HashMap<>();
             error.put("error", "업로드된 엑셀 파일이 없습니다.");
@@ -276,23 +397,27 @@ public class PostController {
         }
 
         try {
-            Path filePath = Paths.get(post.getExcelFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() || resource.isReadable()) {
-                System.out.println("엑셀 파일 다운로드 시작: " + post.getExcelFilename());
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                        .header(HttpHeaders.CONTENT_DISPOSITION,
-                                "attachment; filename=\"" + post.getExcelFilename() + "\"")
-                        .body(resource);
-            } else {
+            String fileKey = post.getExcelFilePath();
+            StorageEngine.ObjectInfo info = storageEngine.stat(fileKey);
+            if (info == null) {
                 System.out.println("ERROR: 파일을 찾을 수 없음");
                 return ResponseEntity.notFound().build();
             }
-        } catch (MalformedURLException e) {
-            System.out.println("ERROR: 잘못된 파일 경로 - " + e.getMessage());
-            return ResponseEntity.badRequest().build();
+
+            System.out.println("엑셀 파일 다운로드 시작: " + post.getExcelFilename());
+            String contentType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+            String disposition = "attachment; filename=\"" + post.getExcelFilename() + "\"";
+            if (info.getFile() != null) {
+                RangeFileSender.send(request, response, info.getFile(), contentType, disposition);
+            } else {
+                RangeFileSender.send(request, response, info.getSize(),
+                        (offset, length, out) -> storageEngine.stream(fileKey, offset, length, out),
+                        contentType, disposition, null);
+            }
+            return null;
+        } catch (IOException e) {
+            System.out.println("ERROR: 파일 전송 실패 - " + e.getMessage());
+            return response.isCommitted() ? null : ResponseEntity.status(500).build();
         }
     }
 
@@ -310,7 +435,13 @@ public class PostController {
             return ResponseEntity.status(401).body(error);
         }
 
-        Post existingPost = postService.getPostById(postId);
+        PostAccess existingPost = postService.getPostAccess(postId);
+        if (existingPost == null) {
+            System.out.println("ERROR: 게시글 없음");
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "게시글을 찾을 수 없습니다.");
+            return ResponseEntity.status(404).body(error);
+        }
         if (!existingPost.getAuthorId().equals(userId)) {
             System.out.println("ERROR: 권한 없음");
             Map<String, String> error = new HashMap<>();
@@ -327,9 +458,8 @@ public class PostController {
 
         try {
             // Delete physical file
-            Path filePath = Paths.get(existingPost.getExcelFilePath());
-            Files.deleteIfExists(filePath);
-            System.out.println("엑셀 파일 삭제: " + filePath.toString());
+            storageEngine.delete(existingPost.getExcelFilePath());
+            System.out.println("엑셀 파일 삭제: " + existingPost.getExcelFilePath());
 
             // Update database
             postService.deleteExcelFile(postId);
@@ -0,0 +1,59 @@
+package com.example.boards.controller;
+
+import com.example.boards.service.ActivityStreamHub;
+import com.example.boards.util.IpAddressUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+/**
+ * 실시간 알림 스트림 (Server-Sent Events)
+ *
+ * 클라이언트는 EventSource 로 구독합니다. 연결 수 제한을 넘으면 429 로 응답하며,
+ * EventSource 는 200 이외의 응답에는 재연결하지 않습니다.
+ */
+@RestController
+@RequestMapping("/api/streams")
+public class StreamController {
+
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+
+    /**
+     * 게시판 새 글 스트림 (event: post)
+     */
+    @GetMapping(value = "/board", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBoard(HttpSession session, HttpServletRequest request) {
+        SseEmitter emitter = activityStreamHub.subscribeBoard(clientKey(session, request));
+        if (emitter == null) {
+            return ResponseEntity.status(429).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * 게시글 새 댓글 스트림 (event: comment)
+     */
+    @GetMapping(value = "/posts/{postId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPost(@PathVariable Long postId,
+                                                 HttpSession session, HttpServletRequest request) {
+        SseEmitter emitter = activityStreamHub.subscribePost(postId, clientKey(session, request));
+        if (emitter == null) {
+            return ResponseEntity.status(429).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    private String clientKey(HttpSession session, HttpServletRequest request) {
+        String userId = (String) session.getAttribute("userId");
+        return userId != null ? "user:" + userId : "ip:" + IpAddressUtil.getClientIpAddress(request);
+    }
+}
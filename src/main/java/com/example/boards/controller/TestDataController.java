@@ -1,5 +1,6 @@
 package com.example.boards.controller;
 
+import com.example.boards.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +21,9 @@ public class TestDataController {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private PostService postService;
+
     @PostMapping("/reset-data")
     public ResponseEntity<?> resetTestData() {
         try {
@@ -69,6 +73,9 @@ public class TestDataController {
 
             System.out.println(executedCount + "개의 SQL 문장 실행 완료");
 
+            // SQL로 직접 변경했으므로 게시글 메모리 캐시 초기화
+            postService.resetCaches();
+
             Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Integer.class);
             System.out.println("최종 게시글 개수: " + count);
 
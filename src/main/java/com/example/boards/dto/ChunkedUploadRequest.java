@@ -0,0 +1,15 @@
+package com.example.boards.dto;
+
+import lombok.Data;
+
+/**
+ * 분할 업로드 시작 요청 (POST /api/files/uploads)
+ */
+@Data
+public class ChunkedUploadRequest {
+    private Long postId;
+    private String filename;
+    private String contentType;
+    /** 전체 파일 크기 (바이트) */
+    private Long size;
+}
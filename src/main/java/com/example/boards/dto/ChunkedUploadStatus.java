@@ -0,0 +1,19 @@
+package com.example.boards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 분할 업로드 진행 상태
+ * 클라이언트는 offset 부터 다음 조각을 보내면 되며, 연결이 끊긴 뒤에도 이 값으로 이어서 올립니다.
+ */
+@Data
+@AllArgsConstructor
+public class ChunkedUploadStatus {
+    private String uploadId;
+    /** 서버가 받은 바이트 수 (다음 조각의 시작 위치) */
+    private long offset;
+    private long size;
+    /** 권장 조각 크기 (바이트) */
+    private int chunkSize;
+}
@@ -0,0 +1,54 @@
+package com.example.boards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * 댓글 키셋(커서) 페이지네이션 위치
+ *
+ * 댓글 정렬 키(created_at ASC, comment_id ASC)의 마지막 행 값을 담으며,
+ * 클라이언트에는 불투명한 Base64 URL-safe 문자열로 전달됩니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentCursor {
+
+    private Date createdAt;
+    private Long commentId;
+
+    /**
+     * 커서를 클라이언트에 전달할 문자열로 인코딩
+     */
+    public String encode() {
+        String raw = createdAt.getTime() + ":" + commentId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 클라이언트가 보낸 커서 문자열을 해석
+     *
+     * @param encoded 인코딩된 커서
+     * @return 커서 위치
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않은 경우
+     */
+    public static CommentCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return new CommentCursor(new Date(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 및 Base64 디코딩 오류 포함
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.boards.dto;
+
+import com.example.boards.model.Comment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 댓글 한 페이지와 다음 페이지 커서 (마지막 페이지면 nextCursor 는 null)
+ */
+@Data
+@AllArgsConstructor
+public class CommentPage {
+    private List<Comment> comments;
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.example.boards.dto;
+
+import lombok.Data;
+
+/**
+ * 권한 확인/엑셀 파일 처리용 게시글 최소 정보
+ *
+ * 본문이나 조회수 없이 작성자와 엑셀 파일 메타데이터만 담습니다.
+ */
+@Data
+public class PostAccess {
+    private Long postId;
+    private String authorId;
+
+    // 엑셀 파일 정보
+    private String excelFilename;
+    private String excelStoredFilename;
+    private String excelFilePath;
+    private Long excelFileSize;
+}
@@ -0,0 +1,17 @@
+package com.example.boards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 게시글 개수 조회 결과
+ *
+ * 검색 결과가 매우 많은 경우 상한값까지만 센 근사치를 반환하며,
+ * 이때 approximate 가 true 입니다. (예: "10,000+")
+ */
+@Data
+@AllArgsConstructor
+public class PostCount {
+    private int count;
+    private boolean approximate;
+}
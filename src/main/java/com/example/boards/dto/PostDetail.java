@@ -0,0 +1,24 @@
+package com.example.boards.dto;
+
+import com.example.boards.model.Comment;
+import com.example.boards.model.FileAttachment;
+import com.example.boards.model.Post;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 게시글 상세 화면용 통합 응답 (게시글 + 댓글 + 첨부파일)
+ */
+@Data
+public class PostDetail {
+    private Post post;
+    private List<Comment> comments;
+    private List<FileAttachment> files;
+
+    /** 이후 댓글이 더 있는지 여부 */
+    private boolean hasMoreComments;
+
+    /** 다음 댓글 페이지 커서 (GET /api/comments/post/{postId}?cursor=..., 없으면 null) */
+    private String nextCommentCursor;
+}
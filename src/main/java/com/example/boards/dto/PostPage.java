@@ -0,0 +1,16 @@
+package com.example.boards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 게시글 목록 한 페이지와 전체(검색 결과) 개수
+ */
+@Data
+@AllArgsConstructor
+public class PostPage {
+    private List<PostSummary> posts;
+    private PostCount count;
+}
@@ -0,0 +1,25 @@
+package com.example.boards.dto;
+
+import lombok.Data;
+import java.util.Date;
+
+/**
+ * 게시글 목록용 요약 정보
+ *
+ * 목록 화면에 필요 없는 본문(content)은 포함하지 않으며,
+ * 대신 작성/수정 시 계산해 둔 짧은 미리보기(excerpt)를 제공합니다.
+ */
+@Data
+public class PostSummary {
+    private Long postId;
+    private String title;
+    private String excerpt;
+    private String authorId;
+    private String authorName;
+    private Boolean isNotice;
+    private Integer viewCount;
+    private Date createdAt;
+    private Date updatedAt;
+    private Integer commentCount;
+    private Integer fileCount;
+}
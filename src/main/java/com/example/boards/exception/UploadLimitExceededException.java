@@ -0,0 +1,13 @@
+package com.example.boards.exception;
+
+/**
+ * 분할 업로드 한도 초과 예외
+ *
+ * 사용자별 동시 업로드 수나 서버 전체의 예약 용량을 넘어 새 업로드를 시작할 수 없을 때 발생합니다.
+ * 진행 중인 업로드가 끝나거나 만료되면 다시 시작할 수 있습니다.
+ */
+public class UploadLimitExceededException extends RuntimeException {
+    public UploadLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.boards.exception;
+
+/**
+ * 분할 업로드 위치 불일치 예외
+ *
+ * 클라이언트가 보낸 조각의 시작 위치가 서버가 받은 위치보다 뒤일 때 발생합니다.
+ * 클라이언트는 expectedOffset 부터 다시 보내야 합니다.
+ */
+public class UploadOffsetMismatchException extends RuntimeException {
+
+    private final long expectedOffset;
+
+    public UploadOffsetMismatchException(long expectedOffset) {
+        super("업로드 위치가 맞지 않습니다. " + expectedOffset + " 바이트부터 다시 보내주세요.");
+        this.expectedOffset = expectedOffset;
+    }
+
+    public long getExpectedOffset() {
+        return expectedOffset;
+    }
+}
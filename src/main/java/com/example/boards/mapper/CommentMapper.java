@@ -1,15 +1,19 @@
 package com.example.boards.mapper;
 
+import com.example.boards.dto.CommentCursor;
 import com.example.boards.model.Comment;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import java.util.List;
 
 @Mapper
 public interface CommentMapper {
-    List<Comment> findByPostId(Long postId);
+    List<Comment> findPageByPostId(@Param("postId") Long postId,
+                                   @Param("cursor") CommentCursor cursor,
+                                   @Param("limit") int limit);
     Comment findById(Long commentId);
     void insertComment(Comment comment);
     void updateComment(Comment comment);
-    void deleteComment(Long commentId);
+    int deleteComment(Long commentId);
     int countByPostId(Long postId);
 }
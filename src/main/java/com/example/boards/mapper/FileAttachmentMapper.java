@@ -2,6 +2,7 @@ package com.example.boards.mapper;
 
 import com.example.boards.model.FileAttachment;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import java.util.List;
 
 @Mapper
@@ -9,6 +10,15 @@ public interface FileAttachmentMapper {
     List<FileAttachment> findByPostId(Long postId);
     FileAttachment findById(Long fileId);
     void insertFile(FileAttachment file);
-    void deleteFile(Long fileId);
-    void deleteByPostId(Long postId);
+    void insertFiles(List<FileAttachment> files);
+    int deleteFile(Long fileId);
+    int deleteByPostId(Long postId);
+    int countByContentHash(String contentHash);
+    List<FileAttachment> findAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+    int updateFilePath(@Param("fileId") Long fileId,
+                       @Param("oldPath") String oldPath,
+                       @Param("newPath") String newPath);
+    int updateFilePathByContentHash(@Param("contentHash") String contentHash,
+                                    @Param("oldPath") String oldPath,
+                                    @Param("newPath") String newPath);
 }
@@ -1,19 +1,40 @@
 package com.example.boards.mapper;
 
+import com.example.boards.dto.PostAccess;
+import com.example.boards.dto.PostCursor;
+import com.example.boards.dto.PostSummary;
 import com.example.boards.model.Post;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface PostMapper {
-    List<Post> findAll(@Param("limit") Integer limit, @Param("offset") Integer offset, @Param("searchQuery") String searchQuery);
+    List<PostSummary> findAll(@Param("limit") Integer limit, @Param("offset") Integer offset, @Param("searchQuery") String searchQuery);
+    List<PostSummary> findAllAfterCursor(@Param("limit") Integer limit, @Param("cursor") PostCursor cursor, @Param("searchQuery") String searchQuery);
+    List<PostSummary> findAllFullText(@Param("limit") Integer limit, @Param("offset") Integer offset,
+                                      @Param("booleanQuery") String booleanQuery, @Param("authorName") String authorName,
+                                      @Param("searchContent") boolean searchContent);
+    int countFullTextCapped(@Param("booleanQuery") String booleanQuery, @Param("authorName") String authorName,
+                            @Param("searchContent") boolean searchContent, @Param("cap") int cap);
+    List<PostSummary> findSummariesByIds(@Param("postIds") List<Long> postIds);
+    List<PostSummary> findAllForSearchIndex();
     int countAll(@Param("searchQuery") String searchQuery);
+    int countAllCapped(@Param("searchQuery") String searchQuery, @Param("cap") int cap);
     Post findById(Long postId);
+    PostAccess findAccessById(Long postId);
     void insertPost(Post post);
     void updatePost(Post post);
-    void deletePost(Long postId);
-    void incrementViewCount(Long postId);
+    int deletePost(Long postId);
+    int addViewCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    // 댓글/첨부파일 카운터 (posts.comment_count, posts.file_count)
+    void adjustCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+    void adjustFileCount(@Param("postId") Long postId, @Param("delta") int delta);
+    Long findMaxPostId();
+    int reconcileCommentCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+    int reconcileFileCounts(@Param("fromId") long fromId, @Param("toId") long toId);
 
     // Excel file operations
     void updateExcelFile(@Param("postId") Long postId,
@@ -22,4 +43,8 @@ public interface PostMapper {
                         @Param("excelFilePath") String excelFilePath,
                         @Param("excelFileSize") Long excelFileSize);
     void deleteExcelFile(@Param("postId") Long postId);
+    List<PostAccess> findExcelFilesAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+    int updateExcelFilePath(@Param("postId") Long postId,
+                            @Param("oldPath") String oldPath,
+                            @Param("newPath") String newPath);
 }
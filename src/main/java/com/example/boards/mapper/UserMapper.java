@@ -4,10 +4,13 @@ import com.example.boards.model.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 @Mapper
 public interface UserMapper {
     void insertUser(User user);
     User findByUserId(String userId);
+    List<User> findNamesByUserIds(@Param("userIds") List<String> userIds);
     User findByEmail(String email);
     User findByUserIdAndPassword(String userId, String password);
     void updatePassword(@Param("userId") String userId, @Param("password") String password);
@@ -12,5 +12,7 @@ public class FileAttachment {
     private String filePath;
     private Long fileSize;
     private String contentType;
+    /** 본문 SHA-256 (내용 주소 저장소 키, 이전 업로드는 null) */
+    private String contentHash;
     private Date createdAt;
 }
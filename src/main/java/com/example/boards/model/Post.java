@@ -8,6 +8,7 @@ public class Post {
     private Long postId;
     private String title;
     private String content;
+    private String excerpt;
     private String authorId;
     private String authorName;
     private Boolean isNotice;
@@ -0,0 +1,353 @@
+package com.example.boards.service;
+
+import com.example.boards.model.Comment;
+import com.example.boards.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 새 게시글/댓글 실시간 알림 허브 (Server-Sent Events)
+ *
+ * 게시판 목록 구독자와 게시글별 구독자에게 이벤트를 나눠 보냅니다.
+ * SseEmitter 는 서블릿 비동기 응답이므로 대기 중인 연결이 Tomcat 요청 스레드를 점유하지 않습니다.
+ *
+ * - 전체 연결 수와 클라이언트(사용자 또는 IP)별 연결 수를 제한합니다.
+ * - 구독자마다 크기가 정해진 전송 대기열을 두고 전송 스레드 풀이 구독자별로 순서대로 비웁니다.
+ *   emitter.send 는 블로킹이므로 느린 구독자는 스레드 하나만 붙잡고, 다른 구독자의 전송과 heartbeat 는 계속됩니다.
+ *   대기열이 가득 찬(뒤처진) 구독자는 연결을 끊으며, 클라이언트는 재연결합니다.
+ *   막힌 쓰기 자체는 서블릿 컨테이너의 쓰기 타임아웃으로 끝납니다.
+ * - 주기적으로 heartbeat 주석을 보내 프록시 유휴 타임아웃을 막고, 끊어진 연결을 정리합니다.
+ */
+@Component
+public class ActivityStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityStreamHub.class);
+
+    private static final String BOARD_TOPIC = "board";
+
+    @Value("${app.streams.max-connections:1000}")
+    private int maxConnections;
+
+    @Value("${app.streams.max-connections-per-client:5}")
+    private int maxConnectionsPerClient;
+
+    @Value("${app.streams.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    /** 구독자별 전송 대기 이벤트 수 (초과하면 연결을 끊음) */
+    @Value("${app.streams.subscriber-queue-capacity:32}")
+    private int subscriberQueueCapacity;
+
+    @Value("${app.streams.writer-threads:4}")
+    private int writerThreads;
+
+    private final Map<String, Set<Subscription>> topics = new ConcurrentHashMap<>();
+    private final Map<String, Integer> connectionsPerClient = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder droppedSubscribers = new LongAdder();
+
+    private ThreadPoolExecutor writers;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // 구독자마다 대기 중인 전송 작업은 최대 하나이므로 작업 대기열은 연결 수만큼이면 충분
+        writers = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxConnections)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "activity-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> {
+                    // 버려진 전송 작업의 구독자는 다음 이벤트(늦어도 heartbeat)에서 다시 예약되도록 해제
+                    // 남은 이벤트는 대기열에 그대로 있다가 그때 함께 전송됨
+                    if (runnable instanceof DrainTask) {
+                        ((DrainTask) runnable).subscription.draining.set(false);
+                    }
+                    log.warn("Activity stream writer queue full, delivery deferred to next event");
+                });
+        writers.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        writers.shutdownNow();
+        for (Set<Subscription> subscriptions : topics.values()) {
+            for (Subscription subscription : subscriptions) {
+                subscription.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * 게시판 새 글 구독
+     *
+     * @param clientKey 연결 수 제한 기준 (로그인 사용자 ID 또는 IP)
+     * @return 구독 스트림 (연결 수 제한 초과 시 null)
+     */
+    public SseEmitter subscribeBoard(String clientKey) {
+        return subscribe(BOARD_TOPIC, clientKey);
+    }
+
+    /**
+     * 게시글 새 댓글 구독
+     *
+     * @return 구독 스트림 (연결 수 제한 초과 시 null)
+     */
+    public SseEmitter subscribePost(Long postId, String clientKey) {
+        return subscribe(postTopic(postId), clientKey);
+    }
+
+    /**
+     * 새 게시글 알림 (트랜잭션 안이면 커밋 후 전송)
+     */
+    public void publishPostCreated(Post post) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("postId", post.getPostId());
+        data.put("title", post.getTitle());
+        data.put("authorId", post.getAuthorId());
+        data.put("isNotice", post.getIsNotice());
+        publishAfterCommit(BOARD_TOPIC, "post", data);
+    }
+
+    /**
+     * 새 댓글 알림 (트랜잭션 안이면 커밋 후 전송)
+     */
+    public void publishCommentCreated(Comment comment) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("postId", comment.getPostId());
+        data.put("commentId", comment.getCommentId());
+        data.put("authorId", comment.getAuthorId());
+        publishAfterCommit(postTopic(comment.getPostId()), "comment", data);
+    }
+
+    /**
+     * 유휴 연결 유지 및 끊어진 연결 정리
+     */
+    @Scheduled(fixedDelayString = "${app.streams.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscription> subscriptions : topics.values()) {
+            for (Subscription subscription : subscriptions) {
+                enqueue(subscription, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    /**
+     * 연결 현황
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("connections", connections.get());
+        stats.put("topics", topics.size());
+        stats.put("pendingWrites", writers.getQueue().size());
+        stats.put("droppedSubscribers", droppedSubscribers.sum());
+        return stats;
+    }
+
+    /**
+     * 구독 스트림 생성 (테스트에서 전송 동작을 바꿀 수 있도록 분리)
+     */
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private SseEmitter subscribe(String topic, String clientKey) {
+        if (!acquireClient(clientKey)) {
+            return null;
+        }
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            releaseClient(clientKey);
+            return null;
+        }
+
+        SseEmitter emitter = createEmitter();
+        Subscription subscription = new Subscription(topic, clientKey, emitter, subscriberQueueCapacity);
+        // unsubscribe 가 빈 집합을 제거하는 것과 겹치지 않도록 compute 안에서 추가
+        topics.compute(topic, (key, subscriptions) -> {
+            Set<Subscription> target = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+            target.add(subscription);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+
+        // 연결 직후 응답 헤더를 내보내고 재연결 간격을 알려줌
+        enqueue(subscription, SseEmitter.event().reconnectTime(5000).comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * 클라이언트별 연결 수 증가 (제한 초과 시 false)
+     * 확인과 증가, 감소와 제거를 같은 키의 compute 안에서 처리해 동시에 끊기는 연결과 겹쳐도 카운터를 잃지 않습니다.
+     */
+    private boolean acquireClient(String clientKey) {
+        AtomicBoolean acquired = new AtomicBoolean();
+        connectionsPerClient.compute(clientKey, (key, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= maxConnectionsPerClient) {
+                return count;
+            }
+            acquired.set(true);
+            return current + 1;
+        });
+        return acquired.get();
+    }
+
+    private void releaseClient(String clientKey) {
+        connectionsPerClient.computeIfPresent(clientKey, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return;
+        }
+        topics.computeIfPresent(subscription.topic, (topic, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        connections.decrementAndGet();
+        releaseClient(subscription.clientKey);
+    }
+
+    private void publishAfterCommit(String topic, String eventName, Map<String, Object> data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronization synchronization = new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    publish(topic, eventName, data);
+                }
+            };
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        } else {
+            publish(topic, eventName, data);
+        }
+    }
+
+    private void publish(String topic, String eventName, Map<String, Object> data) {
+        Set<Subscription> subscriptions = topics.get(topic);
+        if (subscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            enqueue(subscription, SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * 구독자 대기열에 넣고 전송 예약 (대기열이 가득 차면 뒤처진 구독자로 보고 연결을 끊음)
+     */
+    private void enqueue(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        if (subscription.closed.get()) {
+            return;
+        }
+        if (!subscription.outbox.offer(event)) {
+            droppedSubscribers.increment();
+            log.info("Activity stream subscriber fell behind, disconnecting: client={}", subscription.clientKey);
+            unsubscribe(subscription);
+        }
+        // 끊는 경우에도 전송 작업이 emitter 를 닫음 (send 와 complete 는 같은 잠금을 쓰므로 여기서 닫으면 막힐 수 있음)
+        scheduleDrain(subscription);
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            writers.execute(new DrainTask(subscription));
+        }
+    }
+
+    /**
+     * 구독자 대기열을 순서대로 전송 (구독자당 한 번에 한 스레드)
+     */
+    private void drain(Subscription subscription) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscription.closed.get() && (event = subscription.outbox.poll()) != null) {
+                try {
+                    subscription.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // 클라이언트 연결 종료
+                    unsubscribe(subscription);
+                }
+            }
+        } finally {
+            subscription.draining.set(false);
+        }
+
+        if (subscription.closed.get()) {
+            subscription.outbox.clear();
+            if (subscription.completed.compareAndSet(false, true)) {
+                try {
+                    subscription.emitter.complete();
+                } catch (RuntimeException e) {
+                    // 이미 끝난 응답
+                }
+            }
+        } else if (!subscription.outbox.isEmpty()) {
+            // 마지막 poll 과 draining 해제 사이에 들어온 이벤트
+            scheduleDrain(subscription);
+        }
+    }
+
+    private static String postTopic(Long postId) {
+        return "post:" + postId;
+    }
+
+    /**
+     * 구독자 대기열 전송 작업 (거부 처리에서 구독자를 알 수 있도록 분리)
+     */
+    private final class DrainTask implements Runnable {
+        private final Subscription subscription;
+
+        private DrainTask(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void run() {
+            drain(subscription);
+        }
+    }
+
+    private static final class Subscription {
+        private final String topic;
+        private final String clientKey;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> outbox;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Subscription(String topic, String clientKey, SseEmitter emitter, int queueCapacity) {
+            this.topic = topic;
+            this.clientKey = clientKey;
+            this.emitter = emitter;
+            this.outbox = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.FileAttachmentMapper;
+import com.example.boards.model.FileAttachment;
+import com.example.boards.util.StreamingUploadWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 첨부파일 내용 주소(SHA-256) 저장소
+ *
+ * 첨부파일 본문은 저장소(StorageEngine)의 "{업로드 디렉토리}/{sha256 앞 2자리}/{다음 2자리}/{sha256}" 하나에만
+ * 저장하고, 같은 내용을 다시 올리면 file_attachments 행만 추가합니다. 참조 수는 같은 content_hash 를 가진
+ * file_attachments 행 수이며, 마지막 행이 삭제될 때 실제 파일을 지웁니다.
+ *
+ * 같은 해시의 "파일 존재 확인 + 행 INSERT" 와 "행 수 확인 + 파일 삭제" 가 겹치지 않도록
+ * 해시별 잠금(스트라이프) 안에서 처리합니다. (단일 인스턴스 기준)
+ * 새 내용의 저장소 쓰기는 잠금 밖에서 먼저 하고(같은 키에 같은 내용이므로 여러 번 써도 결과가 같음),
+ * 잠금 안에서 파일이 그대로 있는지 다시 확인합니다.
+ *
+ * 업로드 중인 파일은 저장소 종류와 관계없이 로컬 업로드 디렉토리의 .incoming 아래에 임시로 씁니다.
+ *
+ * 샤딩 이전에 {업로드 디렉토리}/{sha256} 에 저장된 파일은 UploadLayoutMigrationService 가 옮기며,
+ * 옮기기 전에 같은 내용이 다시 올라오면 그 자리에서 먼저 옮깁니다(같은 내용이 두 벌 생기지 않도록).
+ */
+@Component
+public class AttachmentContentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentContentStore.class);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final String INCOMING_DIR = ".incoming";
+
+    private final FileAttachmentMapper fileAttachmentMapper;
+    private final StorageEngine storageEngine;
+    private final Path root;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public AttachmentContentStore(FileAttachmentMapper fileAttachmentMapper,
+                                  StorageEngine storageEngine,
+                                  @Value("${file.upload.directory:uploads}") String uploadDir) {
+        this.fileAttachmentMapper = fileAttachmentMapper;
+        this.storageEngine = storageEngine;
+        this.root = Paths.get(uploadDir);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * 업로드 스트림을 임시 위치에 저장하면서 해시 계산 (단일 패스)
+     * 검증에 실패하면 임시 파일은 이미 삭제된 상태로 반환됩니다.
+     *
+     * @param validator 저장하면서 실행할 검증기 (없으면 null)
+     */
+    public StreamingUploadWriter.StoredUpload stage(InputStream source,
+                                                    Function<InputStream, Map<String, Object>> validator) throws IOException {
+        return StreamingUploadWriter.write(source, incomingPath(UUID.randomUUID().toString()), validator);
+    }
+
+    /**
+     * 임시 저장 위치 (로컬 저장소면 하드 링크로 옮길 수 있도록 같은 디렉토리 아래)
+     */
+    public Path incomingPath(String name) throws IOException {
+        Path incoming = root.resolve(INCOMING_DIR);
+        Files.createDirectories(incoming);
+        return incoming.resolve(name);
+    }
+
+    /**
+     * 임시 파일을 내용 주소 위치로 옮기고 첨부파일 행 등록
+     *
+     * 같은 내용이 이미 있으면 임시 파일만 지우고 기존 파일을 참조합니다. 새 내용은 잠금 밖에서 저장하고,
+     * register 는 file 의 contentHash/filePath 가 채워진 뒤 잠금 안에서 호출됩니다.
+     * 실패하면 이번에 쓴 파일을 참조하는 행이 없을 때만 되돌립니다.
+     *
+     * @param staged stage 결과
+     * @param file 등록할 첨부파일 (storedFilename, filePath, fileSize, contentHash 를 채움)
+     * @param register 첨부파일 행 INSERT (트랜잭션 커밋까지 끝나야 함)
+     * @return 기존 파일을 재사용했으면 true
+     */
+    public boolean commit(StreamingUploadWriter.StoredUpload staged, FileAttachment file,
+                          Supplier<?> register) throws IOException {
+        return commit(staged.getPath(), staged.getSize(), staged.getSha256(), file, register);
+    }
+
+    /**
+     * 이미 해시를 아는 임시 파일 등록 (분할 업로드 완료 등)
+     *
+     * @param stagedPath incomingPath 아래의 임시 파일
+     * @param size 파일 크기
+     * @param hash SHA-256 (hex)
+     */
+    public boolean commit(Path stagedPath, long size, String hash, FileAttachment file,
+                          Supplier<?> register) throws IOException {
+        String key = contentKey(hash);
+
+        file.setContentHash(hash);
+        file.setStoredFilename(hash);
+        file.setFilePath(key);
+        file.setFileSize(size);
+
+        // 새 내용은 잠금 없이 먼저 저장 (큰 파일을 원격 저장소에 올리는 동안 같은 스트라이프를 막지 않음)
+        boolean deduplicated = contentExists(hash);
+        boolean written = false;
+        try {
+            if (!deduplicated) {
+                written = true;
+                storageEngine.put(key, stagedPath);
+            }
+            synchronized (lockFor(hash)) {
+                written |= ensureContentLocked(hash, stagedPath);
+                Files.deleteIfExists(stagedPath);
+                register.get();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(stagedPath);
+            if (written) {
+                deleteIfUnreferenced(hash);
+            }
+            throw e;
+        }
+        return deduplicated;
+    }
+
+    /**
+     * 여러 임시 파일을 한 번에 등록 (일괄 업로드)
+     *
+     * 아직 없는 내용은 잠금 없이 executor 에서 병렬로 먼저 저장합니다. 내용 주소 저장이므로 같은 내용을
+     * 다른 요청이 동시에 써도 결과가 같습니다. 그 뒤 관련된 해시 잠금을 모두(스트라이프 번호 순서로) 잡고
+     * 존재 확인과 register(행 일괄 INSERT)만 합니다. 하나라도 실패하면 임시 파일을 지우고,
+     * 이번에 쓴 내용 중 참조하는 행이 없는 것만 지웁니다.
+     *
+     * @param staged stage 결과 (files 와 같은 순서)
+     * @param files 등록할 첨부파일 (storedFilename, filePath, fileSize, contentHash 를 채움)
+     * @param executor 저장소에 쓸 때 사용할 스레드 풀
+     * @param register 첨부파일 행 일괄 INSERT (트랜잭션 커밋까지 끝나야 함)
+     * @return 기존 파일을 재사용한 개수 (같은 요청 안의 중복 포함)
+     */
+    public int commitAll(List<StreamingUploadWriter.StoredUpload> staged, List<FileAttachment> files,
+                         Executor executor, Supplier<?> register) throws IOException {
+        for (int i = 0; i < staged.size(); i++) {
+            StreamingUploadWriter.StoredUpload upload = staged.get(i);
+            FileAttachment file = files.get(i);
+            file.setContentHash(upload.getSha256());
+            file.setStoredFilename(upload.getSha256());
+            file.setFilePath(contentKey(upload.getSha256()));
+            file.setFileSize(upload.getSize());
+        }
+
+        // 해시별 첫 임시 파일
+        Map<String, Path> contents = new LinkedHashMap<>();
+        for (StreamingUploadWriter.StoredUpload upload : staged) {
+            contents.putIfAbsent(upload.getSha256(), upload.getPath());
+        }
+        Set<String> written = new LinkedHashSet<>();
+        try {
+            Map<String, Path> missing = new LinkedHashMap<>();
+            for (Map.Entry<String, Path> entry : contents.entrySet()) {
+                if (!contentExists(entry.getKey())) {
+                    missing.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (Map.Entry<String, Path> entry : missing.entrySet()) {
+                written.add(entry.getKey());
+                writes.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        storageEngine.put(contentKey(entry.getKey()), entry.getValue());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor));
+            }
+            awaitAll(writes);
+
+            int[] stripes = contents.keySet().stream()
+                    .mapToInt(AttachmentContentStore::stripeFor)
+                    .distinct()
+                    .sorted()
+                    .toArray();
+            withLocks(stripes, 0, () -> {
+                for (Map.Entry<String, Path> entry : contents.entrySet()) {
+                    if (ensureContentLocked(entry.getKey(), entry.getValue())) {
+                        written.add(entry.getKey());
+                    }
+                }
+                deleteStaged(staged);
+                return register.get();
+            });
+            return staged.size() - missing.size();
+        } catch (IOException | RuntimeException e) {
+            deleteStaged(staged);
+            for (String hash : written) {
+                deleteIfUnreferenced(hash);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 평평한 업로드 디렉토리에 있는 첨부파일을 샤딩된 위치로 옮기고 file_path 갱신 (로컬 저장소 전용)
+     *
+     * 새 위치에 저장하고 행을 갱신한 뒤 이전 파일을 지우므로, 옮기는 동안에도 다운로드가 끊기지 않습니다.
+     * 이전 축소본은 지우고 새 위치에서 다시 생성합니다.
+     *
+     * @return 옮겼으면 true (이미 옮겨졌거나, 다른 위치에 있거나, 파일이 없으면 false)
+     */
+    public boolean relocate(FileAttachment file) throws IOException {
+        if (!root.normalize().equals(Paths.get(file.getFilePath()).normalize().getParent())) {
+            return false;
+        }
+
+        if (file.getContentHash() != null) {
+            synchronized (lockFor(file.getContentHash())) {
+                return relocateContent(file.getContentHash(), file.getFilePath());
+            }
+        }
+
+        // 내용 주소 저장 이전의 첨부파일 (UUID 파일명, 단독 소유)
+        Path current = storageEngine.localFile(file.getFilePath());
+        if (current == null || !Files.exists(current)) {
+            return false;
+        }
+        String target = storageEngine.keyFor(file.getStoredFilename());
+        storageEngine.put(target, current);
+        if (fileAttachmentMapper.updateFilePath(file.getFileId(), file.getFilePath(), target) == 0) {
+            // 그 사이 삭제된 첨부파일
+            storageEngine.delete(target);
+            return false;
+        }
+        deleteWithDerivatives(file.getFilePath());
+        return true;
+    }
+
+    /**
+     * 첨부파일 행 삭제 후 실제 파일 정리 (트랜잭션 안이면 커밋 후)
+     * 내용 주소 파일은 더 이상 참조하는 행이 없을 때만 지웁니다.
+     */
+    public void releaseAfterCommit(List<FileAttachment> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronization synchronization = new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    release(files);
+                }
+            };
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        } else {
+            release(files);
+        }
+    }
+
+    private void release(List<FileAttachment> files) {
+        for (FileAttachment file : files) {
+            try {
+                if (file.getContentHash() == null) {
+                    // 내용 주소 저장 이전의 첨부파일 (UUID 파일명, 단독 소유)
+                    // 삭제와 동시에 relocate 가 옮겼을 수 있으므로(잠금 없음) 옮겨질 위치도 함께 정리
+                    Set<String> keys = new LinkedHashSet<>();
+                    keys.add(file.getFilePath());
+                    if (file.getStoredFilename() != null) {
+                        keys.add(storageEngine.keyFor(file.getStoredFilename()));
+                    }
+                    for (String key : keys) {
+                        deleteWithDerivatives(key);
+                    }
+                    continue;
+                }
+                synchronized (lockFor(file.getContentHash())) {
+                    if (fileAttachmentMapper.countByContentHash(file.getContentHash()) == 0) {
+                        // 읽어 둔 행이 옮기기 전 경로일 수 있으므로 두 위치 모두 정리
+                        Set<String> keys = new LinkedHashSet<>();
+                        keys.add(file.getFilePath());
+                        keys.add(contentKey(file.getContentHash()));
+                        if (storageEngine.localFile(file.getFilePath()) != null) {
+                            keys.add(legacyContentKey(file.getContentHash()));
+                        }
+                        for (String key : keys) {
+                            deleteWithDerivatives(key);
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Attachment content release failed: fileId={}, path={}", file.getFileId(), file.getFilePath(), e);
+            }
+        }
+    }
+
+    /**
+     * 이전 위치의 내용 주소 파일을 샤딩된 위치로 옮기고 같은 해시의 행 갱신 (해시 잠금 안에서 호출)
+     *
+     * @return 옮겼으면 true (로컬 저장소가 아니거나 이전 위치에 파일이 없으면 false)
+     */
+    private boolean relocateContent(String hash, String currentKey) throws IOException {
+        Path current = storageEngine.localFile(currentKey);
+        if (current == null || !Files.exists(current)) {
+            return false;
+        }
+        String target = contentKey(hash);
+        if (storageEngine.stat(target) == null) {
+            storageEngine.put(target, current);
+        }
+        fileAttachmentMapper.updateFilePathByContentHash(hash, currentKey, target);
+        deleteWithDerivatives(currentKey);
+        return true;
+    }
+
+    /**
+     * 내용 파일이 이미 있는지 (샤딩 이전 위치 포함, 잠금 없이 미리 확인할 때 사용)
+     */
+    private boolean contentExists(String hash) throws IOException {
+        if (storageEngine.stat(contentKey(hash)) != null) {
+            return true;
+        }
+        Path legacy = storageEngine.localFile(legacyContentKey(hash));
+        return legacy != null && Files.exists(legacy);
+    }
+
+    /**
+     * 잠금 안에서 내용 파일이 있는지 다시 확인 (잠금 밖에서 쓴 뒤 release 가 지웠을 수 있음)
+     * 없으면 이전 위치에서 옮기거나 임시 파일로 다시 씁니다.
+     *
+     * @return 임시 파일로 새로 썼으면 true
+     */
+    private boolean ensureContentLocked(String hash, Path stagedPath) throws IOException {
+        if (storageEngine.stat(contentKey(hash)) != null || relocateContent(hash, legacyContentKey(hash))) {
+            return false;
+        }
+        storageEngine.put(contentKey(hash), stagedPath);
+        return true;
+    }
+
+    /**
+     * 실패한 등록이 쓴 내용 파일 정리 (같은 내용을 참조하는 행이 없을 때만)
+     */
+    private void deleteIfUnreferenced(String hash) throws IOException {
+        synchronized (lockFor(hash)) {
+            if (fileAttachmentMapper.countByContentHash(hash) == 0) {
+                storageEngine.delete(contentKey(hash));
+            }
+        }
+    }
+
+    private void deleteWithDerivatives(String key) throws IOException {
+        storageEngine.delete(key);
+        ImageDerivativeService.deleteDerivatives(storageEngine, key);
+    }
+
+    String contentKey(String hash) {
+        return storageEngine.keyFor(hash);
+    }
+
+    private String legacyContentKey(String hash) {
+        return root.resolve(hash).toString();
+    }
+
+    private Object lockFor(String hash) {
+        return locks[stripeFor(hash)];
+    }
+
+    private static int stripeFor(String hash) {
+        return (hash.hashCode() & 0x7fffffff) % LOCK_STRIPES;
+    }
+
+    /**
+     * 정렬된 스트라이프 잠금을 차례로 모두 잡고 실행 (항상 같은 순서로 잡으므로 교착 없음)
+     */
+    private <T> T withLocks(int[] stripes, int index, LockedAction<T> action) throws IOException {
+        if (index == stripes.length) {
+            return action.run();
+        }
+        synchronized (locks[stripes[index]]) {
+            return withLocks(stripes, index + 1, action);
+        }
+    }
+
+    /**
+     * 모든 쓰기가 끝날 때까지 기다린 뒤 첫 번째 실패를 다시 던짐 (실패해도 나머지 쓰기가 끝나야 되돌릴 수 있음)
+     */
+    private static void awaitAll(List<CompletableFuture<Void>> writes) throws IOException {
+        Throwable failure = null;
+        for (CompletableFuture<Void> write : writes) {
+            try {
+                write.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) failure).getCause();
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    private static void deleteStaged(List<StreamingUploadWriter.StoredUpload> staged) throws IOException {
+        for (StreamingUploadWriter.StoredUpload upload : staged) {
+            Files.deleteIfExists(upload.getPath());
+        }
+    }
+
+    @FunctionalInterface
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.boards.service;
+
+import com.example.boards.model.FileAttachment;
+import com.example.boards.util.FilePathSanitizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 게시글 첨부파일 ZIP 묶음
+ *
+ * 첨부파일을 저장소에서 하나씩 읽어 응답 스트림에 바로 ZIP 으로 씁니다. 고정 크기 버퍼만 쓰므로
+ * 첨부파일 크기와 개수에 관계없이 메모리 사용량이 일정합니다.
+ *
+ * 이미 압축된 형식(이미지, 동영상, 압축 파일, PDF, Office Open XML 등)은 압축 수준 0(NO_COMPRESSION)으로 씁니다.
+ * STORED 항목과 달리 CRC 를 헤더에 먼저 적을 필요가 없으므로 파일을 한 번만 읽습니다.
+ */
+@Service
+public class AttachmentZipService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentZipService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** 이미 압축되어 있어 다시 압축해도 줄지 않는 확장자 */
+    private static final Set<String> COMPRESSED_EXTENSIONS = new HashSet<>(Arrays.asList(
+            "jpg", "jpeg", "png", "gif", "webp", "heic", "avif",
+            "mp4", "mov", "avi", "mkv", "webm", "mp3", "m4a", "aac", "ogg",
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "jar",
+            "pdf", "xlsx", "xlsm", "docx", "pptx", "hwpx", "odt", "ods", "odp", "epub"));
+
+    @Autowired
+    private StorageEngine storageEngine;
+
+    /**
+     * 첨부파일들을 ZIP 으로 out 에 씀 (out 은 닫지 않음)
+     * 저장소에 파일이 없는 첨부파일은 건너뜁니다.
+     *
+     * @return ZIP 에 담은 파일 수
+     */
+    public int write(List<FileAttachment> files, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        Set<String> usedNames = new HashSet<>();
+        int written = 0;
+
+        // 닫을 때 Deflater 네이티브 메모리도 바로 해제 (out 자체는 닫지 않음)
+        try (ZipOutputStream zip = new ZipOutputStream(StreamUtils.nonClosing(out))) {
+            for (FileAttachment file : files) {
+                StorageEngine.ObjectInfo info = storageEngine.stat(file.getFilePath());
+                if (info == null) {
+                    log.warn("Attachment skipped in zip, missing from storage: fileId={}, path={}", file.getFileId(), file.getFilePath());
+                    continue;
+                }
+
+                ZipEntry entry = new ZipEntry(entryName(file, usedNames));
+                if (file.getCreatedAt() != null) {
+                    entry.setTime(file.getCreatedAt().getTime());
+                }
+                // 압축 수준은 putNextEntry 전에 바꿔야 해당 항목에 적용됨
+                zip.setLevel(isCompressed(file.getOriginalFilename(), file.getContentType())
+                        ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+
+                zip.putNextEntry(entry);
+                try (InputStream in = storageEngine.get(file.getFilePath())) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        zip.write(buffer, 0, read);
+                    }
+                }
+                zip.closeEntry();
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 이미 압축된 형식인지 (압축하지 않고 담을지)
+     */
+    static boolean isCompressed(String filename, String contentType) {
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            if ((type.startsWith("image/") && !type.startsWith("image/svg") && !type.startsWith("image/bmp")
+                    && !type.startsWith("image/tiff"))
+                    || type.startsWith("video/") || type.startsWith("audio/")
+                    || type.equals("application/pdf")
+                    || type.equals("application/zip") || type.equals("application/gzip")
+                    || type.equals("application/x-7z-compressed") || type.equals("application/x-rar-compressed")
+                    || type.startsWith("application/vnd.openxmlformats-officedocument.")) {
+                return true;
+            }
+        }
+        String extension = FilePathSanitizer.getFileExtension(filename);
+        return !extension.isEmpty() && COMPRESSED_EXTENSIONS.contains(extension.substring(1));
+    }
+
+    /**
+     * ZIP 항목 이름 (경로 부분을 떼고, 같은 이름이 있으면 "이름 (2).확장자")
+     */
+    static String entryName(FileAttachment file, Set<String> usedNames) {
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename() : "";
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1)
+                .replaceAll("[\\p{Cntrl}]", "")
+                .trim();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            name = "file-" + file.getFileId();
+        }
+
+        String candidate = name;
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int copy = 2; !usedNames.add(candidate.toLowerCase(Locale.ROOT)); copy++) {
+            candidate = base + " (" + copy + ")" + extension;
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.boards.service;
+
+import com.example.boards.model.FileAttachment;
+import com.example.boards.util.ExcelValidator;
+import com.example.boards.util.StreamingUploadWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 첨부파일 일괄 업로드
+ *
+ * 요청 하나로 받은 파일들을 전용 I/O 스레드 풀에서 병렬로 임시 저장(해시 계산, 엑셀 검증 포함)한 뒤,
+ * 내용 주소 저장소에 옮기고 첨부파일 행을 한 트랜잭션의 다중 행 INSERT 로 등록합니다.
+ * 파일 하나라도 검증이나 저장에 실패하면 아무것도 등록하지 않습니다(전체 성공 또는 전체 실패).
+ *
+ * 풀 대기열이 가득 차면 요청 스레드가 직접 처리하므로 작업이 버려지지 않습니다.
+ */
+@Service
+public class BatchUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchUploadService.class);
+
+    @Autowired
+    private AttachmentContentStore attachmentContentStore;
+
+    @Autowired
+    private FileAttachmentService fileAttachmentService;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    /** 요청 하나로 올릴 수 있는 최대 파일 수 */
+    @Value("${app.uploads.batch.max-files:20}")
+    private int maxFiles;
+
+    /** 파일 하나의 최대 크기 (바이트, multipart 업로드 제한과 같음) */
+    @Value("${app.uploads.batch.max-file-size-bytes:10485760}")
+    private long maxFileSize;
+
+    @Value("${app.uploads.batch.pool-size:4}")
+    private int poolSize;
+
+    @Value("${app.uploads.batch.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 파일 여러 개를 게시글 첨부파일로 등록
+     *
+     * @return 등록된 첨부파일 (요청 순서)
+     * @throws IllegalArgumentException 파일 수/크기/이름이 올바르지 않거나 검증에 실패한 경우 (아무것도 등록되지 않음)
+     */
+    public List<FileAttachment> upload(Long postId, List<MultipartFile> files) throws IOException {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("업로드할 파일이 없습니다.");
+        }
+        if (files.size() > maxFiles) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxFiles + "개까지 업로드할 수 있습니다.");
+        }
+        for (MultipartFile file : files) {
+            String filename = file.getOriginalFilename();
+            if (filename == null || filename.trim().isEmpty()) {
+                throw new IllegalArgumentException("파일명이 비어있습니다.");
+            }
+            if (file.isEmpty()) {
+                throw new IllegalArgumentException(filename + ": 파일이 비어있습니다.");
+            }
+            if (file.getSize() > maxFileSize) {
+                throw new IllegalArgumentException(filename + ": 파일 크기는 " + (maxFileSize / (1024 * 1024))
+                        + "MB를 초과할 수 없습니다.");
+            }
+        }
+
+        List<StreamingUploadWriter.StoredUpload> staged = stageAll(files);
+
+        List<FileAttachment> attachments = new ArrayList<>();
+        for (MultipartFile file : files) {
+            FileAttachment attachment = new FileAttachment();
+            attachment.setPostId(postId);
+            attachment.setOriginalFilename(file.getOriginalFilename());
+            attachment.setContentType(file.getContentType());
+            attachments.add(attachment);
+        }
+
+        int deduplicated = attachmentContentStore.commitAll(staged, attachments, executor,
+                () -> {
+                    fileAttachmentService.createFiles(postId, attachments);
+                    return attachments;
+                });
+        log.info("Batch upload completed: postId={}, files={}, deduplicated={}",
+                postId, attachments.size(), deduplicated);
+
+        for (FileAttachment attachment : attachments) {
+            imageDerivativeService.enqueue(attachment);
+        }
+        return attachments;
+    }
+
+    /**
+     * 모든 파일을 병렬로 임시 저장 (하나라도 실패하면 나머지 임시 파일을 지우고 실패를 던짐)
+     */
+    private List<StreamingUploadWriter.StoredUpload> stageAll(List<MultipartFile> files) throws IOException {
+        List<CompletableFuture<StreamingUploadWriter.StoredUpload>> writes = new ArrayList<>();
+        for (MultipartFile file : files) {
+            writes.add(CompletableFuture.supplyAsync(() -> stage(file), executor));
+        }
+
+        List<StreamingUploadWriter.StoredUpload> staged = new ArrayList<>();
+        Throwable failure = null;
+        String invalid = null;
+        for (int i = 0; i < writes.size(); i++) {
+            try {
+                StreamingUploadWriter.StoredUpload upload = writes.get(i).join();
+                if (upload.isValid()) {
+                    staged.add(upload);
+                } else if (invalid == null) {
+                    invalid = files.get(i).getOriginalFilename() + ": " + upload.getValidation().get("error");
+                }
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+
+        if (failure == null && invalid == null) {
+            return staged;
+        }
+        for (StreamingUploadWriter.StoredUpload upload : staged) {
+            Files.deleteIfExists(upload.getPath());
+        }
+        if (failure instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) failure).getCause();
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+        throw new IllegalArgumentException(invalid);
+    }
+
+    private StreamingUploadWriter.StoredUpload stage(MultipartFile file) {
+        String filename = file.getOriginalFilename();
+        // 엑셀 파일이면 저장하면서 같은 스트림으로 POI 검증
+        Function<InputStream, Map<String, Object>> validator = null;
+        if (ExcelValidator.isExcelFile(filename)) {
+            validator = in -> ExcelValidator.validateExcelFile(in, filename);
+        }
+        try (InputStream inputStream = file.getInputStream()) {
+            return attachmentContentStore.stage(inputStream, validator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.ChunkedUploadRequest;
+import com.example.boards.dto.ChunkedUploadStatus;
+import com.example.boards.dto.PostAccess;
+import com.example.boards.exception.UploadLimitExceededException;
+import com.example.boards.exception.UploadOffsetMismatchException;
+import com.example.boards.model.FileAttachment;
+import com.example.boards.util.ExcelValidator;
+import com.example.boards.util.StreamingUploadWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이어받기 가능한 분할 업로드
+ *
+ * 시작(initiate) → 조각 전송(appendChunk, offset 지정) → 완료(complete) 순서로 진행합니다.
+ * 조각은 FileChannel 위치 지정 쓰기로 임시 파일에 붙이고, SHA-256 은 받은 순서대로 이어서 계산하므로
+ * 완료 시 파일을 다시 읽지 않습니다(엑셀 검증 제외). 완료되면 내용 주소 저장소로 옮겨 첨부파일로 등록합니다.
+ *
+ * 진행 상태는 서버 메모리에 보관하며, 일정 시간 조각이 오지 않은 업로드는 임시 파일과 함께 정리합니다.
+ * 임시 파일이 디스크를 채우지 않도록 사용자별 동시 업로드 수와 전체 예약 용량(선언한 파일 크기의 합)을 제한합니다.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private AttachmentContentStore attachmentContentStore;
+
+    @Autowired
+    private FileAttachmentService fileAttachmentService;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private PostService postService;
+
+    /** 분할 업로드 최대 파일 크기 (바이트) */
+    @Value("${app.uploads.chunked.max-size-bytes:209715200}")
+    private long maxSize;
+
+    /** 권장 조각 크기 (바이트) */
+    @Value("${app.uploads.chunked.chunk-size-bytes:5242880}")
+    private int chunkSize;
+
+    /** 요청 하나로 받을 수 있는 최대 바이트 수 */
+    @Value("${app.uploads.chunked.max-chunk-size-bytes:16777216}")
+    private long maxChunkSize;
+
+    /** 조각이 오지 않으면 업로드를 폐기하는 시간 (분) */
+    @Value("${app.uploads.chunked.session-timeout-minutes:60}")
+    private long sessionTimeoutMinutes;
+
+    /** 사용자별 동시 진행 업로드 수 */
+    @Value("${app.uploads.chunked.max-sessions-per-user:5}")
+    private int maxSessionsPerUser;
+
+    /** 진행 중인 업로드가 선언한 크기 합계의 상한 (바이트) */
+    @Value("${app.uploads.chunked.max-reserved-bytes:2147483648}")
+    private long maxReservedBytes;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> sessionsPerUser = new ConcurrentHashMap<>();
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    /**
+     * 업로드 시작
+     *
+     * @throws IllegalArgumentException 요청 값이 올바르지 않거나 크기 제한을 넘는 경우
+     * @throws UploadLimitExceededException 사용자별 동시 업로드 수나 전체 예약 용량을 넘는 경우
+     */
+    public ChunkedUploadStatus initiate(String userId, ChunkedUploadRequest request) throws IOException {
+        if (request.getPostId() == null) {
+            throw new IllegalArgumentException("게시글 ID가 필요합니다.");
+        }
+        if (request.getFilename() == null || request.getFilename().trim().isEmpty()) {
+            throw new IllegalArgumentException("파일명이 비어있습니다.");
+        }
+        if (request.getSize() == null || request.getSize() <= 0) {
+            throw new IllegalArgumentException("파일이 비어있습니다.");
+        }
+        if (request.getSize() > maxSize) {
+            throw new IllegalArgumentException("파일 크기는 " + (maxSize / (1024 * 1024)) + "MB를 초과할 수 없습니다.");
+        }
+
+        reserve(userId, request.getSize());
+        UploadSession session;
+        try {
+            String uploadId = UUID.randomUUID().toString();
+            Path tempPath = attachmentContentStore.incomingPath(uploadId + ".part");
+            Files.createFile(tempPath);
+            session = new UploadSession(uploadId, userId, request, tempPath);
+        } catch (IOException | RuntimeException e) {
+            unreserve(userId, request.getSize());
+            throw e;
+        }
+        sessions.put(session.uploadId, session);
+        log.info("Chunked upload started: uploadId={}, filename={}, size={}", session.uploadId, request.getFilename(), request.getSize());
+        return status(session);
+    }
+
+    /**
+     * 진행 중인 업로드 조회 (없거나 다른 사용자의 업로드면 null)
+     */
+    public ChunkedUploadStatus getStatus(String uploadId, String userId) {
+        UploadSession session = find(uploadId, userId);
+        return session == null ? null : status(session);
+    }
+
+    /**
+     * 조각 추가
+     *
+     * offset 이 이미 받은 위치보다 앞이면 겹치는 앞부분은 버리고 이어서 씁니다(재전송 허용).
+     * 전송 중 연결이 끊겨도 실제로 쓴 바이트까지는 유지되므로 반환된(또는 조회한) offset 부터 다시 보내면 됩니다.
+     *
+     * @return 갱신된 상태 (없거나 다른 사용자의 업로드면 null)
+     * @throws UploadOffsetMismatchException offset 이 받은 위치보다 뒤인 경우
+     * @throws IllegalArgumentException 선언한 크기나 조각 최대 크기를 넘는 경우
+     */
+    public ChunkedUploadStatus appendChunk(String uploadId, String userId, long offset, InputStream body) throws IOException {
+        UploadSession session = find(uploadId, userId);
+        if (session == null) {
+            return null;
+        }
+
+        synchronized (session) {
+            if (session.closed) {
+                return null;
+            }
+            if (offset < 0 || offset > session.received) {
+                throw new UploadOffsetMismatchException(session.received);
+            }
+            session.touch();
+
+            ReadableByteChannel in = Channels.newChannel(body);
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            long skip = session.received - offset;
+            long accepted = 0;
+
+            try (FileChannel channel = FileChannel.open(session.tempPath, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    accepted += read;
+                    if (accepted > maxChunkSize) {
+                        throw new IllegalArgumentException("조각 크기는 " + maxChunkSize + " 바이트를 초과할 수 없습니다.");
+                    }
+                    buffer.flip();
+
+                    // 이미 받은 구간의 재전송분은 건너뜀
+                    if (skip > 0) {
+                        int skipped = (int) Math.min(skip, buffer.remaining());
+                        buffer.position(buffer.position() + skipped);
+                        skip -= skipped;
+                    }
+                    if (buffer.hasRemaining()) {
+                        if (session.received + buffer.remaining() > session.size) {
+                            throw new IllegalArgumentException("선언한 파일 크기를 초과했습니다.");
+                        }
+                        int start = buffer.position();
+                        int length = buffer.remaining();
+                        long position = session.received;
+                        while (buffer.hasRemaining()) {
+                            position += channel.write(buffer, position);
+                        }
+                        // 디스크에 쓴 뒤에만 해시/위치 반영 (쓰기 실패 시 같은 위치부터 다시 받음)
+                        session.digest.update(buffer.array(), start, length);
+                        session.received += length;
+                    }
+                    buffer.clear();
+                }
+            } finally {
+                session.touch();
+            }
+            return status(session);
+        }
+    }
+
+    /**
+     * 업로드 완료 처리 및 첨부파일 등록
+     *
+     * @return 등록된 첨부파일 (없거나 다른 사용자의 업로드면 null)
+     * @throws IllegalArgumentException 아직 다 받지 않았거나 엑셀 검증에 실패했거나 게시글이 삭제된 경우
+     * @throws AccessDeniedException 게시글 작성자가 아닌 경우
+     */
+    public FileAttachment complete(String uploadId, String userId) throws IOException {
+        UploadSession session = find(uploadId, userId);
+        if (session == null) {
+            return null;
+        }
+
+        synchronized (session) {
+            if (session.closed) {
+                return null;
+            }
+            if (session.received != session.size) {
+                throw new IllegalArgumentException("업로드가 완료되지 않았습니다. (" + session.received + "/" + session.size + " bytes)");
+            }
+
+            // 업로드하는 동안 게시글이 삭제되었을 수 있으므로 다시 확인
+            PostAccess post = postService.getPostAccess(session.postId);
+            if (post == null) {
+                discard(session);
+                throw new IllegalArgumentException("게시글을 찾을 수 없습니다.");
+            }
+            if (!userId.equals(post.getAuthorId())) {
+                discard(session);
+                throw new AccessDeniedException("파일을 업로드할 권한이 없습니다.");
+            }
+
+            if (ExcelValidator.isExcelFile(session.filename)) {
+                Map<String, Object> validation;
+                try (InputStream in = Files.newInputStream(session.tempPath)) {
+                    validation = ExcelValidator.validateExcelFile(in, session.filename);
+                }
+                if (!Boolean.TRUE.equals(validation.get("isValid"))) {
+                    discard(session);
+                    throw new IllegalArgumentException((String) validation.get("error"));
+                }
+            }
+
+            FileAttachment file = new FileAttachment();
+            file.setPostId(session.postId);
+            file.setOriginalFilename(session.filename);
+            file.setContentType(session.contentType);
+
+            String hash = StreamingUploadWriter.toHex(session.digest.digest());
+            try {
+                boolean deduplicated = attachmentContentStore.commit(session.tempPath, session.size, hash, file,
+                        () -> {
+                            fileAttachmentService.createFile(file);
+                            return file;
+                        });
+                log.info("Chunked upload completed: uploadId={}, fileId={}, deduplicated={}",
+                        uploadId, file.getFileId(), deduplicated);
+                imageDerivativeService.enqueue(file);
+            } catch (DataIntegrityViolationException e) {
+                // 확인 직후 게시글이 삭제된 경우 (외래 키 위반)
+                throw new IllegalArgumentException("게시글을 찾을 수 없습니다.");
+            } finally {
+                // 등록 실패 시에도 임시 파일은 commit 에서 삭제되므로 세션을 정리
+                close(session);
+            }
+            return file;
+        }
+    }
+
+    /**
+     * 업로드 취소
+     *
+     * @return 취소했으면 true (없거나 다른 사용자의 업로드면 false)
+     */
+    public boolean abort(String uploadId, String userId) {
+        UploadSession session = find(uploadId, userId);
+        if (session == null) {
+            return false;
+        }
+        synchronized (session) {
+            discard(session);
+        }
+        return true;
+    }
+
+    /**
+     * 오래된 업로드 정리
+     */
+    @Scheduled(fixedDelayString = "${app.uploads.chunked.cleanup-ms:300000}")
+    public void expireIdleSessions() {
+        long cutoff = System.currentTimeMillis() - sessionTimeoutMinutes * 60 * 1000;
+        Iterator<UploadSession> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            UploadSession session = iterator.next();
+            if (session.lastActivity < cutoff) {
+                synchronized (session) {
+                    if (session.lastActivity < cutoff) {
+                        log.info("Chunked upload expired: uploadId={}", session.uploadId);
+                        discard(session);
+                    }
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 진행 상태가 메모리에만 있으므로 재시작 후에는 이어받을 수 없음 → 임시 파일 정리
+        for (UploadSession session : sessions.values()) {
+            synchronized (session) {
+                discard(session);
+            }
+        }
+    }
+
+    private UploadSession find(String uploadId, String userId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.userId.equals(userId)) {
+            return null;
+        }
+        return session;
+    }
+
+    private void discard(UploadSession session) {
+        close(session);
+        try {
+            Files.deleteIfExists(session.tempPath);
+        } catch (IOException e) {
+            log.warn("Chunked upload temp file delete failed: uploadId={}, path={}", session.uploadId, session.tempPath, e);
+        }
+    }
+
+    /**
+     * 세션 종료 및 예약 해제 (한 번만)
+     */
+    private void close(UploadSession session) {
+        session.closed = true;
+        if (sessions.remove(session.uploadId, session)) {
+            unreserve(session.userId, session.size);
+        }
+    }
+
+    /**
+     * 사용자별 업로드 수와 전체 예약 용량 확보 (초과 시 아무것도 확보하지 않고 예외)
+     */
+    private void reserve(String userId, long size) {
+        AtomicBoolean acquired = new AtomicBoolean();
+        sessionsPerUser.compute(userId, (key, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= maxSessionsPerUser) {
+                return count;
+            }
+            acquired.set(true);
+            return current + 1;
+        });
+        if (!acquired.get()) {
+            throw new UploadLimitExceededException("동시에 진행할 수 있는 업로드는 최대 " + maxSessionsPerUser + "개입니다.");
+        }
+        if (reservedBytes.addAndGet(size) > maxReservedBytes) {
+            reservedBytes.addAndGet(-size);
+            releaseUserSlot(userId);
+            throw new UploadLimitExceededException("진행 중인 업로드가 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private void unreserve(String userId, long size) {
+        reservedBytes.addAndGet(-size);
+        releaseUserSlot(userId);
+    }
+
+    private void releaseUserSlot(String userId) {
+        sessionsPerUser.computeIfPresent(userId, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private ChunkedUploadStatus status(UploadSession session) {
+        return new ChunkedUploadStatus(session.uploadId, session.received, session.size, chunkSize);
+    }
+
+    /**
+     * 진행 중인 업로드 상태 (필드 접근은 세션 객체 잠금 안에서)
+     */
+    private static final class UploadSession {
+        private final String uploadId;
+        private final String userId;
+        private final Long postId;
+        private final String filename;
+        private final String contentType;
+        private final long size;
+        private final Path tempPath;
+        private final MessageDigest digest = StreamingUploadWriter.sha256();
+        private long received;
+        private volatile long lastActivity = System.currentTimeMillis();
+        private boolean closed;
+
+        private UploadSession(String uploadId, String userId, ChunkedUploadRequest request, Path tempPath) {
+            this.uploadId = uploadId;
+            this.userId = userId;
+            this.postId = request.getPostId();
+            this.filename = request.getFilename();
+            this.contentType = request.getContentType();
+            this.size = request.getSize();
+            this.tempPath = tempPath;
+        }
+
+        private void touch() {
+            lastActivity = System.currentTimeMillis();
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.boards.service;
 
+import com.example.boards.dto.CommentCursor;
+import com.example.boards.dto.CommentPage;
 import com.example.boards.mapper.CommentMapper;
+import com.example.boards.mapper.PostMapper;
 import com.example.boards.model.Comment;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,24 +18,87 @@ public class CommentService {
     @Autowired
     private CommentMapper commentMapper;
 
-    public List<Comment> getCommentsByPostId(Long postId) {
-        return commentMapper.findByPostId(postId);
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private PostListCache postListCache;
+
+    @Autowired
+    private ContentVersionTracker contentVersionTracker;
+
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+
+    @Autowired
+    private UserDisplayNameCache userDisplayNameCache;
+
+    /** 한 번에 조회할 기본 댓글 수 (limit 생략 시) */
+    @Value("${app.comments.page.default-size:50}")
+    private int defaultPageSize;
+
+    /** 한 번에 조회할 최대 댓글 수 */
+    @Value("${app.comments.page.max-size:200}")
+    private int maxPageSize;
+
+    /**
+     * 게시글 댓글 한 페이지 조회 (오래된 순, 키셋 페이지네이션)
+     *
+     * @param cursor 이전 페이지의 마지막 위치 (첫 페이지는 null)
+     * @param limit 조회할 댓글 수 (null 이면 기본값, 최대값 초과 시 최대값으로 제한)
+     */
+    public CommentPage getCommentsPage(Long postId, CommentCursor cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<Comment> comments = commentMapper.findPageByPostId(postId, cursor, pageSize + 1);
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            Comment last = comments.get(pageSize - 1);
+            nextCursor = new CommentCursor(last.getCreatedAt(), last.getCommentId()).encode();
+        }
+        userDisplayNameCache.fillNames(comments, Comment::getAuthorId, Comment::setAuthorName);
+        return new CommentPage(comments, nextCursor);
     }
 
     public Comment getCommentById(Long commentId) {
-        return commentMapper.findById(commentId);
+        Comment comment = commentMapper.findById(commentId);
+        if (comment != null) {
+            comment.setAuthorName(userDisplayNameCache.getName(comment.getAuthorId()));
+        }
+        return comment;
     }
 
+    @Transactional
     public void createComment(Comment comment) {
+        // 게시글 행 잠금을 먼저 획득한 뒤 댓글 INSERT (FK 공유 잠금 → 배타 잠금 승격으로 인한 데드락 방지)
+        postMapper.adjustCommentCount(comment.getPostId(), 1);
         commentMapper.insertComment(comment);
+        postListCache.invalidateAfterCommit();
+        contentVersionTracker.postChangedAfterCommit(comment.getPostId());
+        activityStreamHub.publishCommentCreated(comment);
     }
 
     public void updateComment(Comment comment) {
         commentMapper.updateComment(comment);
+        if (comment.getPostId() != null) {
+            contentVersionTracker.postChanged(comment.getPostId());
+        }
     }
 
+    @Transactional
     public void deleteComment(Long commentId) {
-        commentMapper.deleteComment(commentId);
+        Comment comment = commentMapper.findById(commentId);
+        if (comment == null) {
+            return;
+        }
+        // 동시 삭제 시 이중 차감을 막기 위해 실제 삭제된 경우에만 카운터 감소
+        if (commentMapper.deleteComment(commentId) > 0) {
+            postMapper.adjustCommentCount(comment.getPostId(), -1);
+            postListCache.invalidateAfterCommit();
+            contentVersionTracker.postChangedAfterCommit(comment.getPostId());
+        }
     }
 
     public int getCommentCount(Long postId) {
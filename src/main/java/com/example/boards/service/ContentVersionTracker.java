@@ -0,0 +1,123 @@
+package com.example.boards.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시판/게시글 변경 버전 (조건부 GET 의 ETag 생성용)
+ *
+ * 게시글, 댓글, 첨부파일 등 응답 내용이 바뀌는 변경마다 게시판 세대 번호를 올리고,
+ * 해당 게시글의 버전을 그 세대 번호로 기록합니다. DB 조회 없이 ETag 를 만들 수 있으므로
+ * If-None-Match 가 일치하면 매퍼 호출 전에 304 로 응답할 수 있습니다.
+ *
+ * 조회수는 버전에 포함하지 않습니다 (ViewCountBuffer 참고).
+ *
+ * 버전은 메모리에만 있으므로 재시작 또는 reset 시점(epoch)을 ETag 에 포함해 이전 ETag 와 겹치지 않게 합니다.
+ * 삭제된 게시글의 버전은 지우고, 기록이 없는 게시글은 마지막으로 지운 시점의 세대 번호를 버전으로 써서
+ * 버전이 줄어들지 않게 합니다 (지운 뒤 이전 ETag 와 다시 일치하지 않음).
+ */
+@Component
+public class ContentVersionTracker {
+
+    private final AtomicLong epoch = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong boardGeneration = new AtomicLong();
+    private final Map<Long, Long> postVersions = new ConcurrentHashMap<>();
+    /** 기록이 없는 게시글의 버전 (마지막으로 버전을 지운 시점의 세대 번호) */
+    private final AtomicLong forgottenGeneration = new AtomicLong();
+
+    /**
+     * 게시글 상세 ETag (게시글 본문, 댓글 수, 첨부파일 수, 엑셀 파일 포함)
+     */
+    public String postETag(Long postId) {
+        return "W/\"p" + epoch.get() + "-" + postVersion(postId) + "\"";
+    }
+
+    /**
+     * 게시글 댓글 목록 ETag
+     */
+    public String commentsETag(Long postId) {
+        return "W/\"c" + epoch.get() + "-" + postVersion(postId) + "\"";
+    }
+
+    /**
+     * 게시글 목록 ETag (모든 게시글 변경에 영향을 받음)
+     */
+    public String listETag() {
+        return "W/\"l" + epoch.get() + "-" + boardGeneration.get() + "\"";
+    }
+
+    /**
+     * 게시글 현재 버전 (기록이 없으면 마지막으로 버전을 지운 시점의 세대 번호, 처음에는 0)
+     */
+    public long postVersion(Long postId) {
+        Long version = postVersions.get(postId);
+        return version != null ? version : forgottenGeneration.get();
+    }
+
+    /**
+     * 게시글(또는 그 댓글/첨부파일) 변경 기록
+     */
+    public void postChanged(Long postId) {
+        postVersions.put(postId, boardGeneration.incrementAndGet());
+    }
+
+    /**
+     * 현재 트랜잭션 커밋 후 변경 기록 (트랜잭션 밖이면 즉시)
+     * 커밋 전에 버전을 올리면 그 사이 다른 요청이 이전 데이터를 새 ETag 로 응답할 수 있습니다.
+     */
+    public void postChangedAfterCommit(Long postId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronization synchronization = new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    postChanged(postId);
+                }
+            };
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        } else {
+            postChanged(postId);
+        }
+    }
+
+    /**
+     * 게시글 삭제 기록 (커밋 후 버전을 지움, 트랜잭션 밖이면 즉시)
+     * 삭제된 게시글의 버전이 프로세스가 끝날 때까지 남지 않게 합니다.
+     */
+    public void postDeletedAfterCommit(Long postId) {
+        postChanged(postId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronization synchronization = new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    forget(postId);
+                }
+            };
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        } else {
+            forget(postId);
+        }
+    }
+
+    /**
+     * 게시글 버전 제거 (기록이 없는 게시글의 버전을 먼저 올려 두므로 ETag 는 이전 값으로 돌아가지 않음)
+     */
+    void forget(Long postId) {
+        forgottenGeneration.accumulateAndGet(boardGeneration.incrementAndGet(), Math::max);
+        postVersions.remove(postId);
+    }
+
+    /**
+     * 데이터가 서비스 밖에서 직접 변경된 경우 모든 ETag 무효화
+     */
+    public void reset() {
+        epoch.updateAndGet(previous -> Math.max(previous + 1, System.currentTimeMillis()));
+        postVersions.clear();
+        forgottenGeneration.set(0);
+    }
+}
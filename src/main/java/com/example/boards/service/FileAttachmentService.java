@@ -1,10 +1,13 @@
 package com.example.boards.service;
 
 import com.example.boards.mapper.FileAttachmentMapper;
+import com.example.boards.mapper.PostMapper;
 import com.example.boards.model.FileAttachment;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -13,6 +16,18 @@ public class FileAttachmentService {
     @Autowired
     private FileAttachmentMapper fileAttachmentMapper;
 
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private PostListCache postListCache;
+
+    @Autowired
+    private ContentVersionTracker contentVersionTracker;
+
+    @Autowired
+    private AttachmentContentStore attachmentContentStore;
+
     public List<FileAttachment> getFilesByPostId(Long postId) {
         return fileAttachmentMapper.findByPostId(postId);
     }
@@ -21,15 +36,54 @@ public class FileAttachmentService {
         return fileAttachmentMapper.findById(fileId);
     }
 
+    @Transactional
     public void createFile(FileAttachment file) {
+        // 게시글 행 잠금을 먼저 획득한 뒤 첨부파일 INSERT (FK 공유 잠금 → 배타 잠금 승격으로 인한 데드락 방지)
+        postMapper.adjustFileCount(file.getPostId(), 1);
         fileAttachmentMapper.insertFile(file);
+        postListCache.invalidateAfterCommit();
+        contentVersionTracker.postChangedAfterCommit(file.getPostId());
+    }
+
+    /**
+     * 같은 게시글의 첨부파일 여러 개를 한 트랜잭션에서 등록 (카운터 갱신 1회 + 다중 행 INSERT 1회)
+     */
+    @Transactional
+    public void createFiles(Long postId, List<FileAttachment> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        postMapper.adjustFileCount(postId, files.size());
+        fileAttachmentMapper.insertFiles(files);
+        postListCache.invalidateAfterCommit();
+        contentVersionTracker.postChangedAfterCommit(postId);
     }
 
+    @Transactional
     public void deleteFile(Long fileId) {
-        fileAttachmentMapper.deleteFile(fileId);
+        FileAttachment file = fileAttachmentMapper.findById(fileId);
+        if (file == null) {
+            return;
+        }
+        // 동시 삭제 시 이중 차감을 막기 위해 실제 삭제된 경우에만 카운터 감소
+        if (fileAttachmentMapper.deleteFile(fileId) > 0) {
+            postMapper.adjustFileCount(file.getPostId(), -1);
+            postListCache.invalidateAfterCommit();
+            contentVersionTracker.postChangedAfterCommit(file.getPostId());
+            // 실제 파일은 커밋 후 참조가 남아있지 않을 때만 삭제
+            attachmentContentStore.releaseAfterCommit(Collections.singletonList(file));
+        }
     }
 
+    @Transactional
     public void deleteFilesByPostId(Long postId) {
-        fileAttachmentMapper.deleteByPostId(postId);
+        List<FileAttachment> files = fileAttachmentMapper.findByPostId(postId);
+        int deleted = fileAttachmentMapper.deleteByPostId(postId);
+        if (deleted > 0) {
+            postMapper.adjustFileCount(postId, -deleted);
+            postListCache.invalidateAfterCommit();
+            contentVersionTracker.postChangedAfterCommit(postId);
+            attachmentContentStore.releaseAfterCommit(files);
+        }
     }
 }
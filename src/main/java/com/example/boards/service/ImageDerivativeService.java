@@ -0,0 +1,393 @@
+package com.example.boards.service;
+
+import com.example.boards.model.FileAttachment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이미지 첨부파일 축소본(썸네일/미리보기) 생성
+ *
+ * 이미지 업로드가 끝나면 전용 스레드 풀에 생성 작업을 넣고, 결과는 저장소에 원본 키 옆 "{원본}.{variant}.{jpg|png}" 로
+ * 저장합니다. 내용 주소 저장소에서는 원본이 공유되므로 축소본도 같은 내용끼리 공유됩니다.
+ * 대기열이 가득 차서 버려졌거나 아직 처리되지 않은 경우 첫 요청에서 바로 생성합니다(같은 파일은 한 번만 생성).
+ * 요청 스레드에서 동시에 생성하는 수와 다른 요청의 생성을 기다리는 시간은 제한하며, 넘으면 IOException 으로
+ * 알려 호출자가 원본을 캐시되지 않게 보내도록 합니다(생성은 백그라운드 대기열로 넘김).
+ *
+ * ImageIO 가 읽지 못하는 형식(WebP, HEIC, SVG 등)이나 너무 큰 이미지는 축소본 없이 원본을 사용합니다.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    @Autowired
+    private StorageEngine storageEngine;
+
+    /**
+     * 축소본 종류
+     */
+    public enum Variant {
+        THUMB("thumb"),
+        MEDIUM("medium");
+
+        private final String key;
+
+        Variant(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * 요청 파라미터 값으로 찾기
+         *
+         * @throws IllegalArgumentException 지원하지 않는 값
+         */
+        public static Variant from(String value) {
+            for (Variant variant : values()) {
+                if (variant.key.equalsIgnoreCase(value)) {
+                    return variant;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 이미지 크기입니다. (thumb, medium)");
+        }
+    }
+
+    @Value("${app.attachments.thumbnails.thumb-size:240}")
+    private int thumbSize;
+
+    @Value("${app.attachments.thumbnails.medium-size:1280}")
+    private int mediumSize;
+
+    /** 이보다 픽셀 수가 많은 이미지는 축소본을 만들지 않음 (압축 폭탄 방지) */
+    @Value("${app.attachments.thumbnails.max-source-pixels:60000000}")
+    private long maxSourcePixels;
+
+    @Value("${app.attachments.thumbnails.pool-size:2}")
+    private int poolSize;
+
+    @Value("${app.attachments.thumbnails.queue-capacity:200}")
+    private int queueCapacity;
+
+    /** 요청 스레드에서 동시에 생성할 수 있는 축소본 수 */
+    @Value("${app.attachments.thumbnails.max-on-demand:2}")
+    private int maxOnDemand;
+
+    /** 같은 축소본을 생성 중인 다른 요청을 기다리는 최대 시간 (밀리초) */
+    @Value("${app.attachments.thumbnails.on-demand-wait-ms:3000}")
+    private long onDemandWaitMs;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore onDemandPermits;
+
+    /** 생성 중인 축소본 (같은 파일을 동시에 두 번 만들지 않도록) */
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    /** 축소본을 만들 수 없는 원본 (매 요청마다 다시 디코딩하지 않도록) */
+    private final Set<String> unsupported = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder generatedOnDemand = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder onDemandRejected = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        onDemandPermits = new Semaphore(maxOnDemand);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                (runnable, pool) -> dropped.increment());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 이미지 첨부파일이면 축소본 생성 작업 등록 (대기열이 가득 차면 버리고 첫 요청 시 생성)
+     */
+    public void enqueue(FileAttachment file) {
+        if (!isImage(file)) {
+            return;
+        }
+        executor.execute(() -> {
+            for (Variant variant : Variant.values()) {
+                try {
+                    if (resolveInternal(file, variant, 0) == null) {
+                        return;
+                    }
+                    generated.increment();
+                } catch (IOException | RuntimeException e) {
+                    log.error("Image derivative generation failed: fileId={}", file.getFileId(), e);
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * 축소본 저장소 키 (없으면 지금 생성)
+     *
+     * @return 축소본 키 (이미지가 아니거나 만들 수 없으면 null → 원본 사용)
+     * @throws IOException 저장소 오류, 또는 생성 요청이 많아 지금 만들 수 없는 경우 (일시적 → 원본을 캐시 없이 사용)
+     */
+    public String resolve(FileAttachment file, Variant variant) throws IOException {
+        if (!isImage(file)) {
+            return null;
+        }
+        String target = derivativeKey(file.getFilePath(), variant, file.getContentType());
+        if (unsupported.contains(file.getFilePath())) {
+            return null;
+        }
+        if (inFlight.containsKey(target) || storageEngine.stat(target) != null) {
+            return resolveInternal(file, variant, onDemandWaitMs);
+        }
+
+        if (!onDemandPermits.tryAcquire()) {
+            onDemandRejected.increment();
+            enqueue(file);
+            throw new IOException("축소본 생성 요청이 많아 원본으로 대체합니다.");
+        }
+        try {
+            generatedOnDemand.increment();
+            return resolveInternal(file, variant, onDemandWaitMs);
+        } finally {
+            onDemandPermits.release();
+        }
+    }
+
+    /**
+     * 축소본의 Content-Type (투명도가 있을 수 있는 PNG/GIF 는 PNG, 그 외는 JPEG)
+     */
+    public static String derivativeContentType(String originalContentType) {
+        return keepsAlpha(originalContentType) ? "image/png" : "image/jpeg";
+    }
+
+    /**
+     * 원본에 딸린 축소본 키
+     */
+    public static String derivativeKey(String originalKey, Variant variant, String originalContentType) {
+        String extension = keepsAlpha(originalContentType) ? "png" : "jpg";
+        return originalKey + "." + variant.getKey() + "." + extension;
+    }
+
+    /**
+     * 원본 삭제 시 함께 지울 축소본들
+     */
+    public static void deleteDerivatives(StorageEngine storageEngine, String originalKey) throws IOException {
+        for (Variant variant : Variant.values()) {
+            storageEngine.delete(derivativeKey(originalKey, variant, "image/png"));
+            storageEngine.delete(derivativeKey(originalKey, variant, "image/jpeg"));
+        }
+    }
+
+    /**
+     * 생성 통계
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("generated", generated.sum());
+        stats.put("generatedOnDemand", generatedOnDemand.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("onDemandRejected", onDemandRejected.sum());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("unsupported", unsupported.size());
+        return stats;
+    }
+
+    /**
+     * @param waitMs 같은 축소본을 생성 중인 다른 작업을 기다리는 최대 시간 (0 이면 끝날 때까지)
+     */
+    private String resolveInternal(FileAttachment file, Variant variant, long waitMs) throws IOException {
+        String original = file.getFilePath();
+        String target = derivativeKey(original, variant, file.getContentType());
+        if (unsupported.contains(original)) {
+            return null;
+        }
+        if (storageEngine.stat(target) != null) {
+            return target;
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(target, future);
+        if (existing != null) {
+            return await(existing, waitMs);
+        }
+
+        try {
+            String result = generate(original, target, variant, file.getContentType());
+            future.complete(result);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(target, future);
+        }
+    }
+
+    private String generate(String original, String target, Variant variant, String contentType) throws IOException {
+        if (storageEngine.stat(target) != null) {
+            return target;
+        }
+        int maxDimension = variant == Variant.THUMB ? thumbSize : mediumSize;
+
+        BufferedImage source = read(original, maxDimension);
+        if (source == null) {
+            if (unsupported.size() > 10000) {
+                unsupported.clear();
+            }
+            unsupported.add(original);
+            return null;
+        }
+
+        BufferedImage scaled = scale(source, maxDimension, keepsAlpha(contentType));
+        String format = keepsAlpha(contentType) ? "png" : "jpg";
+
+        // 임시 파일에 다 쓴 뒤 저장소에 올림 (다운로드 중인 요청이 쓰다 만 파일을 보지 않도록)
+        Path temp = Files.createTempFile("derivative-", "." + format);
+        try {
+            if (!ImageIO.write(scaled, format, temp.toFile())) {
+                return null;
+            }
+            storageEngine.put(target, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+
+    /**
+     * 원본 디코딩 (크기를 먼저 읽고, 축소 비율이 크면 서브샘플링으로 필요한 픽셀만 디코딩)
+     *
+     * @return 이미지 (읽을 수 없는 형식이거나 손상되었거나 너무 크면 null)
+     * @throws IOException 저장소에서 읽지 못한 경우 (일시적일 수 있으므로 지원하지 않는 형식으로 기록하지 않음)
+     */
+    private BufferedImage read(String original, int maxDimension) throws IOException {
+        try (InputStream source = storageEngine.get(original);
+             ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    return null;
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                // 목표 크기의 2배 이상은 남겨 두고 나머지는 서브샘플링 (품질은 이후 보간으로 보정)
+                int subsampling = Math.max(1, Math.max(width, height) / (maxDimension * 2));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } catch (IIOException | RuntimeException e) {
+                // 손상되었거나 일부만 지원되는 이미지
+                log.warn("Image derivative not supported: original={}", original, e);
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int maxDimension, boolean alpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (!alpha) {
+                // JPEG 는 투명도가 없으므로 흰 배경
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, targetWidth, targetHeight);
+            }
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private String await(CompletableFuture<String> future, long waitMs) throws IOException {
+        try {
+            return waitMs > 0 ? future.get(waitMs, TimeUnit.MILLISECONDS) : future.get();
+        } catch (TimeoutException e) {
+            throw new IOException("축소본 생성 대기 시간을 초과했습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("축소본 생성 대기 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("축소본 생성에 실패했습니다.", e.getCause());
+        }
+    }
+
+    private static boolean isImage(FileAttachment file) {
+        return file.getContentType() != null && file.getContentType().startsWith("image/");
+    }
+
+    private static boolean keepsAlpha(String contentType) {
+        return "image/png".equalsIgnoreCase(contentType) || "image/gif".equalsIgnoreCase(contentType);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.PostAccess;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시글 권한 정보 캐시 (postId -> 작성자, 엑셀 파일 정보)
+ *
+ * 수정/삭제/다운로드 시 권한 확인마다 DB를 읽지 않도록 최근 사용한 항목만 보관합니다 (LRU).
+ * 작성자는 바뀌지 않으므로 엑셀 파일 변경과 게시글 삭제 시에만 무효화합니다.
+ */
+@Component
+public class PostAccessCache {
+
+    private final int maxEntries;
+    private final Map<Long, PostAccess> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public PostAccessCache(@Value("${app.posts.access-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Long, PostAccess>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, PostAccess> eldest) {
+                return size() > PostAccessCache.this.maxEntries;
+            }
+        });
+    }
+
+    public PostAccess get(Long postId) {
+        return entries.get(postId);
+    }
+
+    /**
+     * 현재 세대 번호 (DB에서 읽기 전에 확인)
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 저장
+     *
+     * @param loadedGeneration DB 조회 직전의 세대 번호 (조회 중 무효화되었다면 저장하지 않음)
+     */
+    public void put(long loadedGeneration, PostAccess access) {
+        synchronized (entries) {
+            if (loadedGeneration == generation.get()) {
+                entries.put(access.getPostId(), access);
+            }
+        }
+    }
+
+    public void evict(Long postId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(postId);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+}
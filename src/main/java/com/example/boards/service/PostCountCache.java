@@ -0,0 +1,117 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.PostCount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시글 개수 캐시
+ *
+ * - 전체 게시글 수: 메모리에 보관하고 작성/삭제 시 증감 (최초 조회 시 DB에서 로드)
+ * - 검색어별 개수: 짧은 TTL 동안 캐시하며, 게시글이 변경될 때마다 세대(generation)를 올려 일괄 무효화
+ */
+@Component
+public class PostCountCache {
+
+    private static final int UNKNOWN = -1;
+
+    @Value("${app.posts.count-cache.search-ttl-seconds:30}")
+    private long searchTtlSeconds;
+
+    @Value("${app.posts.count-cache.max-search-entries:1000}")
+    private int maxSearchEntries;
+
+    private final AtomicInteger total = new AtomicInteger(UNKNOWN);
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, SearchEntry> searchCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 캐시된 전체 게시글 수 (아직 로드되지 않았으면 null)
+     */
+    public Integer getTotal() {
+        int value = total.get();
+        return value == UNKNOWN ? null : value;
+    }
+
+    public void setTotal(int value) {
+        total.set(value);
+    }
+
+    /**
+     * 전체 게시글 수 증감 (로드 전이면 무시하고 다음 조회 시 DB에서 로드)
+     */
+    public void adjustTotal(int delta) {
+        total.updateAndGet(v -> v == UNKNOWN ? v : Math.max(v + delta, 0));
+    }
+
+    /**
+     * 현재 세대 번호 (검색 개수를 DB에서 읽기 전에 확인)
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 검색어별 캐시된 개수 (없거나 만료/무효화되었으면 null)
+     */
+    public PostCount getSearch(String searchQuery) {
+        SearchEntry entry = searchCounts.get(searchQuery);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.generation != generation.get() || entry.expiresAt < System.currentTimeMillis()) {
+            searchCounts.remove(searchQuery, entry);
+            return null;
+        }
+        return entry.count;
+    }
+
+    /**
+     * 검색어별 개수 저장
+     *
+     * @param loadedGeneration DB 조회 직전의 세대 번호 (조회 중 변경이 있었다면 저장하지 않음)
+     */
+    public void putSearch(String searchQuery, long loadedGeneration, PostCount count) {
+        if (loadedGeneration != generation.get()) {
+            return;
+        }
+        if (searchCounts.size() >= maxSearchEntries) {
+            searchCounts.clear();
+        }
+        searchCounts.put(searchQuery,
+                new SearchEntry(loadedGeneration, System.currentTimeMillis() + searchTtlSeconds * 1000, count));
+    }
+
+    /**
+     * 게시글 변경 시 검색 개수 캐시 무효화
+     */
+    public void invalidateSearches() {
+        generation.incrementAndGet();
+        searchCounts.clear();
+    }
+
+    /**
+     * 전체 초기화 (DB가 직접 변경된 경우)
+     */
+    public void reset() {
+        total.set(UNKNOWN);
+        invalidateSearches();
+    }
+
+    private static final class SearchEntry {
+        private final long generation;
+        private final long expiresAt;
+        private final PostCount count;
+
+        private SearchEntry(long generation, long expiresAt, PostCount count) {
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+            this.count = count;
+        }
+    }
+}
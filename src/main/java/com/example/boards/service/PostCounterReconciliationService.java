@@ -0,0 +1,55 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.PostMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 게시글 카운터 보정 서비스
+ *
+ * posts.comment_count / posts.file_count 는 댓글·첨부파일 생성/삭제 시 트랜잭션 안에서 증감되지만,
+ * 직접 SQL 실행이나 CASCADE 삭제 등으로 어긋날 수 있으므로 주기적으로 실제 개수와 맞춥니다.
+ * 게시글 행 잠금을 오래 잡지 않도록 post_id 구간별로 나눠 문장마다 따로 커밋합니다.
+ */
+@Service
+public class PostCounterReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostCounterReconciliationService.class);
+
+    @Autowired
+    private PostMapper postMapper;
+
+    /** 한 번에 보정할 post_id 구간 크기 */
+    @Value("${app.posts.counter-reconcile-batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * 어긋난 카운터 보정
+     *
+     * @return 보정된 게시글 행 수 (댓글 + 첨부파일)
+     */
+    @Scheduled(cron = "${app.posts.counter-reconcile-cron:0 30 4 * * *}")
+    public int reconcile() {
+        Long maxPostId = postMapper.findMaxPostId();
+        int commentFixed = 0;
+        int fileFixed = 0;
+        if (maxPostId != null) {
+            for (long fromId = 0; fromId < maxPostId; fromId += batchSize) {
+                long toId = fromId + batchSize;
+                commentFixed += postMapper.reconcileCommentCounts(fromId, toId);
+                fileFixed += postMapper.reconcileFileCounts(fromId, toId);
+            }
+        }
+
+        if (commentFixed > 0 || fileFixed > 0) {
+            log.warn("Post counters reconciled: commentCountFixed={}, fileCountFixed={}", commentFixed, fileFixed);
+        } else {
+            log.info("Post counters reconciled: no drift");
+        }
+        return commentFixed + fileFixed;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.boards.service;
+
+import com.example.boards.model.Post;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 게시글 상세 캐시 (read-through)
+ *
+ * 최근 조회한 게시글을 LRU + TTL 로 보관하고, 같은 게시글의 동시 캐시 미스는 한 번의 DB 조회로 합칩니다 (single-flight).
+ * 항목은 조회 시점의 ContentVersionTracker 버전과 함께 저장되므로 댓글/첨부파일/조회수 반영 등
+ * 버전이 바뀌는 변경 후에는 자동으로 다시 읽습니다. 수정/삭제/엑셀 파일 변경 시에는 invalidate 로 즉시 제거합니다.
+ *
+ * 호출자가 조회수 등을 덧붙일 수 있도록 항상 복사본을 반환합니다.
+ */
+@Component
+public class PostDetailCache {
+
+    private final ContentVersionTracker contentVersionTracker;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final Map<Long, Entry> entries;
+    private final Map<Long, CompletableFuture<Post>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public PostDetailCache(ContentVersionTracker contentVersionTracker,
+                           @Value("${app.posts.detail-cache.max-entries:1000}") int maxEntries,
+                           @Value("${app.posts.detail-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.contentVersionTracker = contentVersionTracker;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > PostDetailCache.this.maxEntries;
+            }
+        });
+    }
+
+    /**
+     * 캐시에서 조회하고, 없거나 오래되었으면 loader 로 읽어 저장
+     *
+     * @param loader DB 조회 함수 (같은 게시글에 대해 동시에 한 번만 호출됨)
+     * @return 게시글 복사본 (없으면 null)
+     */
+    public Post get(Long postId, Function<Long, Post> loader) {
+        long version = contentVersionTracker.postVersion(postId);
+        Entry entry = entries.get(postId);
+        if (entry != null && entry.version == version && entry.expiresAt >= System.currentTimeMillis()) {
+            hits.increment();
+            return copyOf(entry.post);
+        }
+        misses.increment();
+
+        CompletableFuture<Post> load = new CompletableFuture<>();
+        CompletableFuture<Post> existing = inFlight.putIfAbsent(postId, load);
+        if (existing != null) {
+            // 이미 다른 요청이 읽는 중이면 그 결과를 함께 사용
+            coalesced.increment();
+            return copyOf(await(existing));
+        }
+
+        try {
+            Post post = loader.apply(postId);
+            if (post != null && contentVersionTracker.postVersion(postId) == version) {
+                entries.put(postId, new Entry(version, System.currentTimeMillis() + ttlMillis, post));
+            }
+            load.complete(post);
+            return copyOf(post);
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(postId, load);
+        }
+    }
+
+    public void invalidate(Long postId) {
+        entries.remove(postId);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 캐시 적중률 통계
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("coalesced", coalesced.sum());
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        return stats;
+    }
+
+    private Post await(CompletableFuture<Post> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Post copyOf(Post post) {
+        if (post == null) {
+            return null;
+        }
+        Post copy = new Post();
+        BeanUtils.copyProperties(post, copy);
+        return copy;
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final long expiresAt;
+        private final Post post;
+
+        private Entry(long version, long expiresAt, Post post) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+            this.post = post;
+        }
+    }
+}
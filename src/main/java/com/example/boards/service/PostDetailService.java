@@ -0,0 +1,109 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.CommentPage;
+import com.example.boards.dto.PostDetail;
+import com.example.boards.model.FileAttachment;
+import com.example.boards.model.Post;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 게시글 상세 통합 조회 서비스
+ *
+ * 게시글, 댓글, 첨부파일을 전용 스레드 풀에서 동시에 조회해 한 번의 응답으로 묶습니다.
+ * 풀과 대기열 크기가 제한되어 있으며, 가득 차면 요청 스레드에서 직접 실행합니다 (순차 조회와 동일).
+ */
+@Service
+public class PostDetailService {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private FileAttachmentService fileAttachmentService;
+
+    @Value("${app.posts.detail.pool-size:8}")
+    private int poolSize;
+
+    @Value("${app.posts.detail.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "post-detail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * 게시글 상세 통합 조회 (조회수 증가 포함)
+     *
+     * @param commentLimit 포함할 첫 댓글 수 (null 이면 댓글 기본 페이지 크기)
+     * @return 상세 정보 (게시글이 없으면 null)
+     */
+    public PostDetail getPostDetail(Long postId, Integer commentLimit) {
+        CompletableFuture<Post> postFuture = CompletableFuture.supplyAsync(
+                () -> postService.getPostById(postId), executor);
+        CompletableFuture<CommentPage> commentsFuture = CompletableFuture.supplyAsync(
+                () -> commentService.getCommentsPage(postId, null, commentLimit), executor);
+        CompletableFuture<List<FileAttachment>> filesFuture = CompletableFuture.supplyAsync(
+                () -> fileAttachmentService.getFilesByPostId(postId), executor);
+
+        Post post = join(postFuture);
+        CommentPage comments = join(commentsFuture);
+        List<FileAttachment> files = join(filesFuture);
+        if (post == null) {
+            return null;
+        }
+
+        PostDetail detail = new PostDetail();
+        detail.setPost(post);
+        detail.setComments(comments.getComments());
+        detail.setNextCommentCursor(comments.getNextCursor());
+        detail.setHasMoreComments(comments.getNextCursor() != null);
+        detail.setFiles(files);
+        return detail;
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("게시글 상세 조회가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("게시글 상세 조회에 실패했습니다.", e.getCause());
+        }
+    }
+}
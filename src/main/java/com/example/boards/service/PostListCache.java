@@ -0,0 +1,141 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.PostSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 목록 앞쪽 페이지 캐시
+ *
+ * 검색어 없는 목록의 앞 N 페이지만, 기본 페이지 크기로 조회한 경우에만 메모리에 보관합니다.
+ * 게시글 작성/수정/삭제, 댓글·첨부파일 수 변경 시 무효화되며, 조회수처럼 무효화하지 않는 값은
+ * 짧은 TTL 이 지나면 다시 읽습니다.
+ */
+@Component
+public class PostListCache {
+
+    @Value("${app.posts.list-cache.pages:3}")
+    private int cachedPages;
+
+    @Value("${app.posts.list-cache.ttl-seconds:10}")
+    private long ttlSeconds;
+
+    /** 캐시할 페이지 크기 (목록 화면 기본값, 다른 크기는 항상 DB 조회) */
+    @Value("${app.posts.list-cache.page-size:20}")
+    private int pageSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 캐시 대상 페이지인지 확인 (기본 페이지 크기의 1 ~ N 페이지)
+     */
+    public boolean isCacheable(int page, int size) {
+        return size == pageSize && page >= 1 && page <= cachedPages;
+    }
+
+    /**
+     * 캐시된 목록 (없거나 만료되었으면 null)
+     */
+    public List<PostSummary> get(int page, int size) {
+        Entry entry = entries.get(key(page, size));
+        if (entry == null || entry.generation != generation.get() || entry.expiresAt < System.currentTimeMillis()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.posts;
+    }
+
+    /**
+     * 현재 세대 번호 (DB에서 읽기 전에 확인)
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 목록 저장
+     *
+     * @param loadedGeneration DB 조회 직전의 세대 번호 (조회 중 무효화되었다면 저장하지 않음)
+     */
+    public void put(int page, int size, long loadedGeneration, List<PostSummary> posts) {
+        if (loadedGeneration != generation.get()) {
+            return;
+        }
+        entries.put(key(page, size), new Entry(loadedGeneration,
+                System.currentTimeMillis() + ttlSeconds * 1000, Collections.unmodifiableList(posts)));
+    }
+
+    /**
+     * 전체 무효화
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * 현재 트랜잭션 커밋 후 무효화 (트랜잭션 밖이면 즉시)
+     * 커밋 전에 무효화하면 그 사이 다른 요청이 이전 데이터로 캐시를 다시 채울 수 있습니다.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronization synchronization = new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            };
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * 캐시 적중률 통계
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("entries", entries.size());
+        stats.put("cachedPages", cachedPages);
+        return stats;
+    }
+
+    private String key(int page, int size) {
+        return page + ":" + size;
+    }
+
+    private static final class Entry {
+        private final long generation;
+        private final long expiresAt;
+        private final List<PostSummary> posts;
+
+        private Entry(long generation, long expiresAt, List<PostSummary> posts) {
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+            this.posts = posts;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.PostSummary;
+import com.example.boards.mapper.PostMapper;
+import com.example.boards.mapper.UserMapper;
+import com.example.boards.model.User;
+import com.example.boards.util.NGramTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 게시글 제목/작성자명 메모리 역색인
+ *
+ * 제목과 작성자명을 n-gram 으로 색인하여, 검색 시 전체 게시글을 훑지 않고
+ * 검색어 n-gram 의 posting 목록 교집합만 확인합니다. (검색 비용은 결과 크기에 비례)
+ *
+ * - 애플리케이션 시작 시 DB에서 전체 색인 생성
+ * - PostService 의 작성/수정/삭제 시 즉시 반영
+ * - 색인 생성이 끝나기 전에는 search() 가 null 을 반환하며 호출측은 DB 검색으로 대체
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchIndex.class);
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Value("${app.posts.search.backend:index}")
+    private String searchBackend;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // lock 으로 보호
+    private IndexData data = new IndexData();
+    private List<Consumer<IndexData>> pendingChanges;
+    private boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if ("index".equalsIgnoreCase(searchBackend)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * DB 기준으로 색인 전체 재생성
+     *
+     * 생성 중에 들어온 변경은 기록해 두었다가 새 색인에 다시 적용한 뒤 교체합니다.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        IndexData rebuilt = new IndexData();
+        try {
+            for (PostSummary post : postMapper.findAllForSearchIndex()) {
+                rebuilt.add(post.getPostId(), post.getTitle(), post.getAuthorId(), post.getAuthorName());
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Post search index build failed", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Consumer<IndexData> change : pendingChanges) {
+                change.accept(rebuilt);
+            }
+            pendingChanges = null;
+            data = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Post search index built: posts={}, grams={}, elapsedMs={}",
+                rebuilt.docs.size(), rebuilt.titlePostings.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 새 게시글 색인
+     *
+     * @param authorName 작성자명 (모르면 null, 처음 보는 작성자면 DB에서 조회)
+     */
+    public void add(Long postId, String title, String authorId, String authorName) {
+        if (postId == null || !isTracking()) {
+            return;
+        }
+        String name = authorName;
+        if (name == null && !knowsAuthor(authorId)) {
+            User user = userMapper.findByUserId(authorId);
+            name = user != null ? user.getName() : null;
+        }
+        String resolvedName = name;
+        apply(index -> index.add(postId, title, authorId, resolvedName));
+    }
+
+    /**
+     * 게시글 제목 변경 반영
+     */
+    public void update(Long postId, String title) {
+        apply(index -> index.updateTitle(postId, title));
+    }
+
+    /**
+     * 게시글 삭제 반영
+     */
+    public void remove(Long postId) {
+        apply(index -> index.remove(postId));
+    }
+
+    /**
+     * 제목 또는 작성자명에 검색어가 포함된 게시글 ID를 관련도 순으로 반환
+     *
+     * @param query 검색어
+     * @return 게시글 ID 목록 (색인이 준비되지 않았으면 null)
+     */
+    public List<Long> search(String query) {
+        String normalized = NGramTokenizer.normalize(query);
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return null;
+            }
+            if (normalized.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return data.search(normalized);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인을 사용 중인지 (생성 완료 또는 생성 중) 여부
+     * 색인 백엔드를 쓰지 않으면 변경 사항을 보관하지 않습니다.
+     */
+    private boolean isTracking() {
+        lock.readLock().lock();
+        try {
+            return ready || pendingChanges != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean knowsAuthor(String authorId) {
+        lock.readLock().lock();
+        try {
+            return data.authorNames.containsKey(authorId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<IndexData> change) {
+        lock.writeLock().lock();
+        try {
+            if (!ready && pendingChanges == null) {
+                return;
+            }
+            change.accept(data);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 색인 자료구조 (외부 잠금 하에서만 접근)
+     *
+     * 삭제/수정 시 posting 목록에서 즉시 지우지 않고 검색 시 원문 포함 여부로 걸러내며,
+     * 오래된 항목이 문서 수보다 많아지면 posting 목록을 다시 만듭니다.
+     */
+    static final class IndexData {
+
+        final Map<Long, Doc> docs = new HashMap<>();
+        final Map<String, SortedIds> titlePostings = new HashMap<>();
+        final Map<String, String> authorNames = new HashMap<>();
+        final Map<String, Set<String>> authorPostings = new HashMap<>();
+        final Map<String, SortedIds> postsByAuthor = new HashMap<>();
+        int staleCount;
+
+        void add(Long postId, String title, String authorId, String authorName) {
+            if (docs.containsKey(postId)) {
+                remove(postId);
+            }
+            String normalizedTitle = NGramTokenizer.normalize(title);
+            docs.put(postId, new Doc(normalizedTitle, authorId));
+            for (String gram : NGramTokenizer.indexGrams(normalizedTitle)) {
+                titlePostings.computeIfAbsent(gram, k -> new SortedIds()).add(postId);
+            }
+            if (authorId != null) {
+                if (authorName != null && !authorNames.containsKey(authorId)) {
+                    String normalizedName = NGramTokenizer.normalize(authorName);
+                    authorNames.put(authorId, normalizedName);
+                    for (String gram : NGramTokenizer.indexGrams(normalizedName)) {
+                        authorPostings.computeIfAbsent(gram, k -> new HashSet<>()).add(authorId);
+                    }
+                }
+                postsByAuthor.computeIfAbsent(authorId, k -> new SortedIds()).add(postId);
+            }
+        }
+
+        void updateTitle(Long postId, String title) {
+            Doc doc = docs.get(postId);
+            if (doc == null) {
+                return;
+            }
+            String normalizedTitle = NGramTokenizer.normalize(title);
+            docs.put(postId, new Doc(normalizedTitle, doc.authorId));
+            for (String gram : NGramTokenizer.indexGrams(normalizedTitle)) {
+                titlePostings.computeIfAbsent(gram, k -> new SortedIds()).add(postId);
+            }
+            markStale();
+        }
+
+        void remove(Long postId) {
+            Doc doc = docs.remove(postId);
+            if (doc == null) {
+                return;
+            }
+            SortedIds authorPosts = postsByAuthor.get(doc.authorId);
+            if (authorPosts != null) {
+                authorPosts.remove(postId);
+            }
+            markStale();
+        }
+
+        List<Long> search(String query) {
+            Map<Long, Integer> scores = new HashMap<>();
+
+            // 제목 매칭
+            SortedIds titleCandidates = intersect(titlePostings, NGramTokenizer.queryGrams(query));
+            if (titleCandidates != null) {
+                for (int i = 0; i < titleCandidates.size; i++) {
+                    long postId = titleCandidates.ids[i];
+                    Doc doc = docs.get(postId);
+                    if (doc != null && doc.title.contains(query)) {
+                        int score = doc.title.equals(query) ? 100 : doc.title.startsWith(query) ? 50 : 30;
+                        scores.put(postId, score);
+                    }
+                }
+            }
+
+            // 작성자명 매칭
+            for (String authorId : matchingAuthors(query)) {
+                SortedIds posts = postsByAuthor.get(authorId);
+                if (posts == null) {
+                    continue;
+                }
+                for (int i = 0; i < posts.size; i++) {
+                    scores.merge(posts.ids[i], 20, Integer::sum);
+                }
+            }
+
+            // 관련도 내림차순, 같으면 최신 글(큰 ID) 우선
+            List<Long> result = new ArrayList<>(scores.keySet());
+            result.sort((a, b) -> {
+                int byScore = Integer.compare(scores.get(b), scores.get(a));
+                return byScore != 0 ? byScore : Long.compare(b, a);
+            });
+            return result;
+        }
+
+        private Set<String> matchingAuthors(String query) {
+            Set<String> candidates = null;
+            for (String gram : NGramTokenizer.queryGrams(query)) {
+                Set<String> authors = authorPostings.get(gram);
+                if (authors == null) {
+                    return Collections.emptySet();
+                }
+                if (candidates == null) {
+                    candidates = new HashSet<>(authors);
+                } else {
+                    candidates.retainAll(authors);
+                }
+            }
+            if (candidates == null) {
+                return Collections.emptySet();
+            }
+            candidates.removeIf(authorId -> !authorNames.get(authorId).contains(query));
+            return candidates;
+        }
+
+        /**
+         * 가장 짧은 posting 목록을 기준으로 나머지 목록에 모두 포함된 ID만 남김
+         */
+        private static SortedIds intersect(Map<String, SortedIds> postings, Set<String> grams) {
+            List<SortedIds> lists = new ArrayList<>();
+            for (String gram : grams) {
+                SortedIds ids = postings.get(gram);
+                if (ids == null) {
+                    return null;
+                }
+                lists.add(ids);
+            }
+            if (lists.isEmpty()) {
+                return null;
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            SortedIds smallest = lists.get(0);
+            SortedIds result = new SortedIds();
+            for (int i = 0; i < smallest.size; i++) {
+                long id = smallest.ids[i];
+                boolean inAll = true;
+                for (int j = 1; j < lists.size() && inAll; j++) {
+                    inAll = lists.get(j).contains(id);
+                }
+                if (inAll) {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+
+        private void markStale() {
+            staleCount++;
+            if (staleCount > Math.max(docs.size(), 1000)) {
+                compact();
+            }
+        }
+
+        private void compact() {
+            titlePostings.clear();
+            for (Map.Entry<Long, Doc> entry : docs.entrySet()) {
+                for (String gram : NGramTokenizer.indexGrams(entry.getValue().title)) {
+                    titlePostings.computeIfAbsent(gram, k -> new SortedIds()).add(entry.getKey());
+                }
+            }
+            staleCount = 0;
+        }
+    }
+
+    static final class Doc {
+        final String title;
+        final String authorId;
+
+        Doc(String title, String authorId) {
+            this.title = title;
+            this.authorId = authorId;
+        }
+    }
+
+    /**
+     * 정렬된 long 배열 기반 posting 목록 (박싱 없이 ID 보관)
+     */
+    static final class SortedIds {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            // 새 글은 항상 가장 큰 ID 이므로 대부분 끝에 추가됨
+            if (size > 0 && ids[size - 1] < id) {
+                append(id);
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void append(long id) {
+            ensureCapacity();
+            ids[size++] = id;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+}
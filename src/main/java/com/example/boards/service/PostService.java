@@ -1,19 +1,74 @@
 package com.example.boards.service;
 
+import com.example.boards.dto.PostAccess;
+import com.example.boards.dto.PostCount;
+import com.example.boards.dto.PostCursor;
+import com.example.boards.dto.PostPage;
+import com.example.boards.dto.PostSummary;
+import com.example.boards.mapper.FileAttachmentMapper;
 import com.example.boards.mapper.PostMapper;
+import com.example.boards.model.FileAttachment;
 import com.example.boards.model.Post;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class PostService {
 
+    /** 목록 미리보기(excerpt) 최대 길이 (문자 수) */
+    private static final int EXCERPT_LENGTH = 100;
+
     @Autowired
     private PostMapper postMapper;
 
+    @Autowired
+    private PostCountCache postCountCache;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private PostListCache postListCache;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private PostAccessCache postAccessCache;
+
+    @Autowired
+    private ContentVersionTracker contentVersionTracker;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private ActivityStreamHub activityStreamHub;
+
+    @Autowired
+    private UserDisplayNameCache userDisplayNameCache;
+
+    @Autowired
+    private FileAttachmentMapper fileAttachmentMapper;
+
+    @Autowired
+    private AttachmentContentStore attachmentContentStore;
+
+    /** 검색 방식: like (DB LIKE 검색) | index (메모리 역색인) | fulltext (MariaDB FULLTEXT) */
+    @Value("${app.posts.search.backend:index}")
+    private String searchBackend;
+
+    /** 검색 결과 개수를 정확히 세는 상한 (초과 시 근사치로 응답, 0 이하면 상한 없음) */
+    @Value("${app.posts.count-cache.approximate-threshold:10000}")
+    private int approximateThreshold;
+
     /**
      * LIKE 패턴의 특수문자(%,_)를 이스케이프 처리
      */
@@ -27,40 +82,372 @@ public class PostService {
                          .replace("_", "\\_");
     }
 
-    public List<Post> getAllPosts(Integer limit, Integer offset, String searchQuery) {
+    /**
+     * FULLTEXT BOOLEAN MODE 검색식 생성
+     *
+     * 단어마다 BOOLEAN MODE 연산자 문자를 제거하고 "+단어*" 로 바꿉니다.
+     * 모든 단어가 포함되어야 하며, 접두사 일치이므로 "스프링" 으로 "스프링으로" 같은 조사 붙은 어절도 찾습니다.
+     * LIKE 를 쓰지 않으므로 escapeLikePattern 은 적용하지 않습니다.
+     *
+     * @return 검색식 (유효한 단어가 없으면 null)
+     */
+    static String toBooleanModeQuery(String searchQuery) {
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String word : searchQuery.trim().split("\\s+")) {
+            String term = word.replaceAll("[+\\-<>()~*\"@]", "");
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (booleanQuery.length() > 0) {
+                booleanQuery.append(' ');
+            }
+            booleanQuery.append('+').append(term).append('*');
+        }
+        return booleanQuery.length() > 0 ? booleanQuery.toString() : null;
+    }
+
+    private boolean isFullTextSearch(String searchQuery) {
+        return searchQuery != null && !searchQuery.isEmpty() && "fulltext".equalsIgnoreCase(searchBackend);
+    }
+
+    /**
+     * 본문에서 목록용 미리보기 생성
+     * 연속된 공백/줄바꿈을 하나의 공백으로 합친 뒤 앞부분만 잘라냅니다.
+     */
+    private String buildExcerpt(String content) {
+        if (content == null) {
+            return null;
+        }
+        String normalized = content.replaceAll("\\s+", " ").trim();
+        if (normalized.codePointCount(0, normalized.length()) <= EXCERPT_LENGTH) {
+            return normalized;
+        }
+        int end = normalized.offsetByCodePoints(0, EXCERPT_LENGTH);
+        return normalized.substring(0, end);
+    }
+
+    /**
+     * 메모리 색인 검색 (색인 백엔드가 아니거나 색인이 아직 준비되지 않았으면 null)
+     */
+    private List<Long> searchIndex(String searchQuery) {
+        if (searchQuery == null || searchQuery.isEmpty() || !"index".equalsIgnoreCase(searchBackend)) {
+            return null;
+        }
+        return postSearchIndex.search(searchQuery);
+    }
+
+    /**
+     * 게시글 ID 목록 순서대로 목록 행 조회
+     */
+    private List<PostSummary> findSummariesInOrder(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, PostSummary> byId = new HashMap<>();
+        for (PostSummary summary : postMapper.findSummariesByIds(postIds)) {
+            byId.put(summary.getPostId(), summary);
+        }
+        List<PostSummary> ordered = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            PostSummary summary = byId.get(postId);
+            if (summary != null) {
+                ordered.add(summary);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * 목록 행 완성: 작성자명(UserDisplayNameCache)을 채우고 조회수에 아직 DB에 반영되지 않은 조회수를 더함
+     */
+    private List<PostSummary> fillSummaries(List<PostSummary> posts) {
+        userDisplayNameCache.fillNames(posts, PostSummary::getAuthorId, PostSummary::setAuthorName);
+        for (PostSummary post : posts) {
+            long pendingViews = viewCountBuffer.getPending(post.getPostId());
+            if (pendingViews > 0 && post.getViewCount() != null) {
+                post.setViewCount((int) (post.getViewCount() + pendingViews));
+            }
+        }
+        return posts;
+    }
+
+    public List<PostSummary> getAllPosts(Integer limit, Integer offset, String searchQuery) {
+        return getAllPosts(limit, offset, searchQuery, false);
+    }
+
+    /**
+     * 게시글 목록 조회
+     *
+     * @param searchContent 본문까지 검색할지 여부 (FULLTEXT 검색 방식에서만 적용)
+     */
+    public List<PostSummary> getAllPosts(Integer limit, Integer offset, String searchQuery, boolean searchContent) {
+        // 검색어 없는 앞쪽 페이지는 메모리 캐시 사용
+        if ((searchQuery == null || searchQuery.isEmpty())
+                && limit != null && offset != null && limit > 0 && offset % limit == 0) {
+            int page = offset / limit + 1;
+            if (postListCache.isCacheable(page, limit)) {
+                List<PostSummary> cached = postListCache.get(page, limit);
+                if (cached != null) {
+                    return cached;
+                }
+                long generation = postListCache.currentGeneration();
+                List<PostSummary> posts = fillSummaries(postMapper.findAll(limit, offset, null));
+                postListCache.put(page, limit, generation, posts);
+                return posts;
+            }
+        }
+
+        if (isFullTextSearch(searchQuery)) {
+            String booleanQuery = toBooleanModeQuery(searchQuery);
+            if (booleanQuery == null) {
+                return new ArrayList<>();
+            }
+            return fillSummaries(
+                    postMapper.findAllFullText(limit, offset, booleanQuery, searchQuery.trim(), searchContent));
+        }
+
+        List<Long> ranked = searchIndex(searchQuery);
+        if (ranked != null) {
+            return rankedPage(ranked, limit, offset);
+        }
+
+        String escapedQuery = escapeLikePattern(searchQuery);
+        return fillSummaries(postMapper.findAll(limit, offset, escapedQuery));
+    }
+
+    /**
+     * 게시글 목록 한 페이지와 개수를 함께 조회
+     *
+     * 색인 검색이면 검색(전체 일치 목록 계산과 정렬)을 한 번만 하고 그 결과로 페이지와 개수를 모두 만듭니다.
+     *
+     * @param searchContent 본문까지 검색할지 여부 (FULLTEXT 검색 방식에서만 적용)
+     */
+    public PostPage getPostPage(Integer limit, Integer offset, String searchQuery, boolean searchContent) {
+        List<Long> ranked = searchIndex(searchQuery);
+        if (ranked != null) {
+            return new PostPage(rankedPage(ranked, limit, offset), new PostCount(ranked.size(), false));
+        }
+        return new PostPage(getAllPosts(limit, offset, searchQuery, searchContent),
+                countPosts(searchQuery, searchContent));
+    }
+
+    /**
+     * 관련도순 게시글 ID 목록에서 한 페이지 조회
+     */
+    private List<PostSummary> rankedPage(List<Long> ranked, Integer limit, Integer offset) {
+        int from = Math.min(offset != null ? offset : 0, ranked.size());
+        int to = limit != null ? Math.min(from + limit, ranked.size()) : ranked.size();
+        return fillSummaries(findSummariesInOrder(ranked.subList(from, to)));
+    }
+
+    /**
+     * 커서 이후의 게시글을 조회 (키셋 페이지네이션)
+     *
+     * OFFSET 없이 정렬 인덱스에서 커서 위치로 바로 탐색하므로 페이지 깊이와 무관하게 비용이 일정합니다.
+     * 커서는 목록 정렬 키 기준이므로 검색어가 있어도 관련도순 색인이 아닌 DB 검색을 사용합니다.
+     *
+     * @param limit 조회할 게시글 수
+     * @param cursor 이전 페이지의 마지막 위치 (첫 페이지는 null)
+     * @param searchQuery 검색어
+     */
+    public List<PostSummary> getPostsAfterCursor(Integer limit, PostCursor cursor, String searchQuery) {
         String escapedQuery = escapeLikePattern(searchQuery);
-        return postMapper.findAll(limit, offset, escapedQuery);
+        return fillSummaries(postMapper.findAllAfterCursor(limit, cursor, escapedQuery));
     }
 
     public int getTotalCount(String searchQuery) {
-        String escapedQuery = escapeLikePattern(searchQuery);
-        return postMapper.countAll(escapedQuery);
+        return countPosts(searchQuery).getCount();
+    }
+
+    public PostCount countPosts(String searchQuery) {
+        return countPosts(searchQuery, false);
+    }
+
+    /**
+     * 게시글 개수 조회
+     *
+     * 검색어가 없으면 메모리에 유지되는 전체 개수를, 검색어가 있으면 짧게 캐시된 검색 개수를 반환합니다.
+     * 검색 결과가 상한(approximateThreshold) 이상이면 끝까지 세지 않고 근사치로 표시합니다.
+     *
+     * @param searchContent 본문까지 검색할지 여부 (FULLTEXT 검색 방식에서만 적용)
+     */
+    public PostCount countPosts(String searchQuery, boolean searchContent) {
+        if (searchQuery == null || searchQuery.isEmpty()) {
+            Integer total = postCountCache.getTotal();
+            if (total == null) {
+                total = postMapper.countAll(null);
+                postCountCache.setTotal(total);
+            }
+            return new PostCount(total, false);
+        }
+
+        List<Long> ranked = searchIndex(searchQuery);
+        if (ranked != null) {
+            return new PostCount(ranked.size(), false);
+        }
+
+        boolean fullText = isFullTextSearch(searchQuery);
+        String cacheKey = fullText && searchContent ? "content:" + searchQuery : searchQuery;
+        PostCount cached = postCountCache.getSearch(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = postCountCache.currentGeneration();
+        int count;
+        if (fullText) {
+            String booleanQuery = toBooleanModeQuery(searchQuery);
+            count = booleanQuery == null ? 0 : postMapper.countFullTextCapped(
+                    booleanQuery, searchQuery.trim(), searchContent, approximateThreshold);
+        } else {
+            count = postMapper.countAllCapped(escapeLikePattern(searchQuery), approximateThreshold);
+        }
+        PostCount result = new PostCount(count, approximateThreshold > 0 && count >= approximateThreshold);
+        postCountCache.putSearch(cacheKey, generation, result);
+        return result;
+    }
+
+    /**
+     * 메모리의 전체 게시글 수를 주기적으로 DB와 재동기화
+     */
+    @Scheduled(fixedDelayString = "${app.posts.count-cache.total-resync-ms:300000}")
+    public void resyncTotalCount() {
+        if (postCountCache.getTotal() != null) {
+            postCountCache.setTotal(postMapper.countAll(null));
+        }
+    }
+
+    /**
+     * 게시글 데이터가 서비스 밖에서 직접 변경된 경우(테스트 데이터 재생성 등) 메모리 캐시 초기화
+     */
+    public void resetCaches() {
+        postCountCache.reset();
+        postListCache.invalidate();
+        postAccessCache.clear();
+        postDetailCache.clear();
+        contentVersionTracker.reset();
+        if ("index".equalsIgnoreCase(searchBackend)) {
+            postSearchIndex.rebuild();
+        }
     }
 
-    @Transactional
+    /**
+     * 게시글 상세 조회 (조회수 증가)
+     *
+     * 게시글은 PostDetailCache 를 거쳐 읽고, 조회수는 ViewCountBuffer 에 모았다가 일괄 반영하므로
+     * 캐시에서 응답하는 경우에도 조회수가 집계됩니다. 반환되는 조회수는 DB 값 + 미반영 조회수입니다.
+     */
     public Post getPostById(Long postId) {
-        postMapper.incrementViewCount(postId);
-        return postMapper.findById(postId);
+        Post post = postDetailCache.get(postId, this::loadPost);
+        if (post == null) {
+            return null;
+        }
+        viewCountBuffer.increment(postId);
+        if (post.getViewCount() != null) {
+            post.setViewCount((int) (post.getViewCount() + viewCountBuffer.getPending(postId)));
+        }
+        return post;
+    }
+
+    private Post loadPost(Long postId) {
+        Post post = postMapper.findById(postId);
+        if (post != null) {
+            post.setAuthorName(userDisplayNameCache.getName(post.getAuthorId()));
+        }
+        return post;
+    }
+
+    /**
+     * 권한 확인용 게시글 정보 조회 (조회수 증가 없음, 캐시 사용)
+     *
+     * @return 작성자와 엑셀 파일 정보 (게시글이 없으면 null)
+     */
+    public PostAccess getPostAccess(Long postId) {
+        PostAccess access = postAccessCache.get(postId);
+        if (access != null) {
+            return access;
+        }
+        long generation = postAccessCache.currentGeneration();
+        access = postMapper.findAccessById(postId);
+        if (access != null) {
+            postAccessCache.put(generation, access);
+        }
+        return access;
+    }
+
+    /**
+     * 조회수만 증가 (304 응답 등 게시글을 다시 읽지 않는 조회)
+     * 없는 게시글 ID 로 조회수 버퍼가 늘어나지 않도록 게시글이 있을 때만 기록합니다.
+     */
+    public void recordView(Long postId) {
+        if (getPostAccess(postId) != null) {
+            viewCountBuffer.increment(postId);
+        }
     }
 
     public void createPost(Post post) {
+        post.setExcerpt(buildExcerpt(post.getContent()));
         postMapper.insertPost(post);
+        postCountCache.adjustTotal(1);
+        postCountCache.invalidateSearches();
+        postListCache.invalidate();
+        postSearchIndex.add(post.getPostId(), post.getTitle(), post.getAuthorId(), post.getAuthorName());
+        contentVersionTracker.postChanged(post.getPostId());
+        activityStreamHub.publishPostCreated(post);
     }
 
     public void updatePost(Post post) {
+        post.setExcerpt(buildExcerpt(post.getContent()));
         postMapper.updatePost(post);
+        postCountCache.invalidateSearches();
+        postListCache.invalidate();
+        postSearchIndex.update(post.getPostId(), post.getTitle());
+        contentVersionTracker.postChanged(post.getPostId());
+        postDetailCache.invalidate(post.getPostId());
     }
 
     public void deletePost(Long postId) {
-        postMapper.deletePost(postId);
+        // 첨부파일 행은 FK CASCADE 로 함께 삭제되므로 실제 파일 정리를 위해 미리 조회
+        List<FileAttachment> files = fileAttachmentMapper.findByPostId(postId);
+        if (postMapper.deletePost(postId) > 0) {
+            postCountCache.adjustTotal(-1);
+            attachmentContentStore.releaseAfterCommit(files);
+        }
+        postCountCache.invalidateSearches();
+        postListCache.invalidate();
+        postSearchIndex.remove(postId);
+        viewCountBuffer.discard(postId);
+        postAccessCache.evict(postId);
+        contentVersionTracker.postDeletedAfterCommit(postId);
+        postDetailCache.invalidate(postId);
     }
 
     public void updateExcelFile(Long postId, String excelFilename, String excelStoredFilename,
                                String excelFilePath, Long excelFileSize) {
         postMapper.updateExcelFile(postId, excelFilename, excelStoredFilename, excelFilePath, excelFileSize);
+        postAccessCache.evict(postId);
+        contentVersionTracker.postChanged(postId);
+        postDetailCache.invalidate(postId);
     }
 
     public void deleteExcelFile(Long postId) {
         postMapper.deleteExcelFile(postId);
+        postAccessCache.evict(postId);
+        contentVersionTracker.postChanged(postId);
+        postDetailCache.invalidate(postId);
+    }
+
+    /**
+     * 엑셀 파일 저장 위치만 변경 (업로드 디렉토리 구조 변경용, 내용/수정 시각은 그대로)
+     *
+     * @return 변경했으면 true (그 사이 엑셀 파일이 교체/삭제되었으면 false)
+     */
+    public boolean moveExcelFile(Long postId, String oldPath, String newPath) {
+        if (postMapper.updateExcelFilePath(postId, oldPath, newPath) == 0) {
+            return false;
+        }
+        postAccessCache.evict(postId);
+        postDetailCache.invalidate(postId);
+        return true;
     }
 }
@@ -0,0 +1,91 @@
+package com.example.boards.service;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 첨부파일/엑셀 파일 저장소
+ *
+ * 키는 DB 의 file_path / excel_file_path 값 그대로입니다("uploads/ab/cd/{파일명}").
+ * 구현체는 로컬 파일 시스템(LocalStorageEngine), S3 호환 객체 저장소(S3StorageEngine)와
+ * 그 앞에 두는 메모리 캐시(CachingStorageEngine)가 있으며 app.storage 설정으로 고릅니다.
+ *
+ * 저장 파일명이 내용 해시나 UUID 이므로 한 번 저장한 키의 내용은 바뀌지 않는다고 가정합니다.
+ */
+public interface StorageEngine {
+
+    /**
+     * 저장된 객체 정보
+     */
+    @Getter
+    class ObjectInfo {
+        private final long size;
+        private final long lastModified;
+        /** 응답에 그대로 보낼 수 있는 로컬 파일 (sendfile 용, 메모리에서 보내거나 원격 객체면 null) */
+        private final Path file;
+
+        public ObjectInfo(long size, long lastModified, Path file) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.file = file;
+        }
+    }
+
+    /**
+     * 새로 저장할 파일의 키 (해시 접두사 하위 디렉토리 포함)
+     *
+     * @param filename 저장 파일명 (내용 해시 또는 UUID 로 시작하는 이름)
+     */
+    String keyFor(String filename);
+
+    /**
+     * 로컬 파일 내용을 키에 저장 (이미 있으면 덮어씀, source 는 그대로 둠)
+     * 읽는 쪽에는 완성된 내용만 보입니다.
+     */
+    void put(String key, Path source) throws IOException;
+
+    /**
+     * 객체 정보 조회
+     *
+     * @return 객체 정보 (없으면 null)
+     */
+    ObjectInfo stat(String key) throws IOException;
+
+    /**
+     * 객체 전체 읽기 (호출자가 닫음)
+     *
+     * @throws java.nio.file.NoSuchFileException 객체가 없는 경우
+     */
+    InputStream get(String key) throws IOException;
+
+    /**
+     * 객체 일부를 out 으로 복사 (다운로드/Range 응답용)
+     *
+     * @param offset 시작 위치
+     * @param length 복사할 바이트 수
+     */
+    void stream(String key, long offset, long length, OutputStream out) throws IOException;
+
+    /**
+     * 객체 삭제
+     *
+     * @return 삭제했으면 true (없었으면 false, 원격 저장소는 항상 true)
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * 키에 해당하는 로컬 파일 (로컬 파일 시스템 저장소가 아니면 null)
+     * 디렉토리 구조 변경처럼 로컬 파일을 직접 다뤄야 하는 작업에서만 사용합니다.
+     */
+    Path localFile(String key);
+
+    /**
+     * 저장소 종류/캐시 통계
+     */
+    Map<String, Object> stats();
+}
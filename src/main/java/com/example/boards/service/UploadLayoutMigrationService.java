@@ -0,0 +1,188 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.PostAccess;
+import com.example.boards.mapper.FileAttachmentMapper;
+import com.example.boards.mapper.PostMapper;
+import com.example.boards.model.FileAttachment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 업로드 디렉토리 구조 변경 (평평한 uploads → 해시 접두사 하위 디렉토리)
+ *
+ * 서비스를 멈추지 않고 file_attachments, posts(엑셀) 순서로 PK 키셋 배치를 돌며 파일을 옮기고
+ * file_path / excel_file_path 를 갱신합니다. 파일마다 "새 위치에 저장(하드 링크) → 행 갱신 → 이전 파일 삭제" 순서라
+ * 옮기는 중에도 다운로드가 끊기지 않고, 중간에 재시작해도 이미 옮긴 행은 건너뛰므로 처음부터 다시 돌리면 됩니다.
+ *
+ * app.uploads.layout-migration.enabled=true 일 때만 동작하며, 배치 사이에 쉬어 DB/디스크 부하를 나눕니다.
+ * 로컬 파일을 옮기는 작업이므로 로컬 저장소(app.storage.engine=local)에서만 의미가 있습니다.
+ */
+@Service
+public class UploadLayoutMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadLayoutMigrationService.class);
+
+    @Autowired
+    private FileAttachmentMapper fileAttachmentMapper;
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private AttachmentContentStore attachmentContentStore;
+
+    @Autowired
+    private StorageEngine storageEngine;
+
+    @Value("${file.upload.directory:uploads}")
+    private String uploadDir;
+
+    @Value("${app.uploads.layout-migration.enabled:false}")
+    private boolean enabled;
+
+    /** 배치 하나에서 확인할 행 수 */
+    @Value("${app.uploads.layout-migration.batch-size:200}")
+    private int batchSize;
+
+    private long lastFileId;
+    private long lastPostId;
+    private boolean filesDone;
+    private boolean postsDone;
+
+    private final LongAdder moved = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * 주기적으로 배치 하나씩 실행 (모두 옮기면 더 이상 조회하지 않음)
+     */
+    @Scheduled(fixedDelayString = "${app.uploads.layout-migration.batch-delay-ms:1000}")
+    public void scheduledBatch() {
+        if (enabled && !isComplete()) {
+            migrateBatch();
+        }
+    }
+
+    /**
+     * 배치 하나 실행
+     *
+     * @return 이번 배치에서 확인한 행 수 (0 이면 완료)
+     */
+    public synchronized int migrateBatch() {
+        if (!filesDone) {
+            List<FileAttachment> files = fileAttachmentMapper.findAfterId(lastFileId, batchSize);
+            for (FileAttachment file : files) {
+                lastFileId = file.getFileId();
+                try {
+                    record(attachmentContentStore.relocate(file));
+                } catch (IOException | RuntimeException e) {
+                    failed.increment();
+                    log.error("Upload layout migration failed for attachment: fileId={}, path={}", file.getFileId(), file.getFilePath(), e);
+                }
+            }
+            if (files.size() < batchSize) {
+                filesDone = true;
+            }
+            if (!files.isEmpty()) {
+                return files.size();
+            }
+        }
+
+        if (!postsDone) {
+            List<PostAccess> posts = postMapper.findExcelFilesAfterId(lastPostId, batchSize);
+            for (PostAccess post : posts) {
+                lastPostId = post.getPostId();
+                try {
+                    record(relocateExcel(post));
+                } catch (IOException | RuntimeException e) {
+                    failed.increment();
+                    log.error("Upload layout migration failed for excel file: postId={}", post.getPostId(), e);
+                }
+            }
+            if (posts.size() < batchSize) {
+                postsDone = true;
+                log.info("Upload layout migration completed: moved={}, skipped={}, failed={}",
+                        moved.sum(), skipped.sum(), failed.sum());
+            }
+            return posts.size();
+        }
+        return 0;
+    }
+
+    /**
+     * 처음부터 다시 확인 (실패한 행 재시도용)
+     */
+    public synchronized void restart() {
+        lastFileId = 0;
+        lastPostId = 0;
+        filesDone = false;
+        postsDone = false;
+    }
+
+    public synchronized boolean isComplete() {
+        return filesDone && postsDone;
+    }
+
+    /**
+     * 진행 상황
+     */
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("complete", isComplete());
+        stats.put("lastFileId", lastFileId);
+        stats.put("lastPostId", lastPostId);
+        stats.put("moved", moved.sum());
+        stats.put("skipped", skipped.sum());
+        stats.put("failed", failed.sum());
+        return stats;
+    }
+
+    /**
+     * 게시글 엑셀 파일 이동 (게시글당 한 파일, 단독 소유)
+     */
+    private boolean relocateExcel(PostAccess post) throws IOException {
+        String currentKey = post.getExcelFilePath();
+        if (!Paths.get(uploadDir).normalize().equals(Paths.get(currentKey).normalize().getParent())) {
+            return false;
+        }
+        Path current = storageEngine.localFile(currentKey);
+        if (current == null || !Files.exists(current)) {
+            return false;
+        }
+
+        String target = storageEngine.keyFor(post.getExcelStoredFilename());
+        storageEngine.put(target, current);
+        if (!postService.moveExcelFile(post.getPostId(), currentKey, target)) {
+            // 그 사이 교체되었거나 삭제된 엑셀 파일
+            storageEngine.delete(target);
+            return false;
+        }
+        storageEngine.delete(currentKey);
+        return true;
+    }
+
+    private void record(boolean relocated) {
+        if (relocated) {
+            moved.increment();
+        } else {
+            skipped.increment();
+        }
+    }
+}
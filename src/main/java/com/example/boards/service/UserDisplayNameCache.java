@@ -0,0 +1,110 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.UserMapper;
+import com.example.boards.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 사용자 표시 이름 캐시 (userId -> name)
+ *
+ * 게시글/댓글 조회 쿼리에서 작성자명을 얻기 위해 users 를 JOIN 하지 않고, 조회 후 이 캐시로 채웁니다.
+ * 캐시에 없는 사용자는 한 번의 IN 쿼리로 모아서 읽습니다.
+ * 이름은 가입 시 정해지고 변경 기능이 없으므로 UserService 가 가입/로그인 시 미리 넣어 둡니다.
+ */
+@Component
+public class UserDisplayNameCache {
+
+    /** 한 번의 IN 쿼리로 조회할 최대 사용자 수 */
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    private final Map<String, String> names;
+
+    public UserDisplayNameCache(@Value("${app.users.name-cache.max-entries:100000}") int maxEntries) {
+        this.names = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public void put(String userId, String name) {
+        if (userId != null && name != null) {
+            names.put(userId, name);
+        }
+    }
+
+    public String getName(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        return getNames(Collections.singleton(userId)).get(userId);
+    }
+
+    /**
+     * 여러 사용자 이름 조회 (캐시에 없는 사용자만 DB에서 읽음)
+     */
+    public Map<String, String> getNames(Collection<String> userIds) {
+        Map<String, String> result = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            if (userId == null) {
+                continue;
+            }
+            String name = names.get(userId);
+            if (name != null) {
+                result.put(userId, name);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        List<String> batch = new ArrayList<>(missing);
+        for (int from = 0; from < batch.size(); from += LOAD_BATCH_SIZE) {
+            List<String> ids = batch.subList(from, Math.min(from + LOAD_BATCH_SIZE, batch.size()));
+            for (User user : userMapper.findNamesByUserIds(ids)) {
+                put(user.getUserId(), user.getName());
+                result.put(user.getUserId(), user.getName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 목록 항목의 작성자명 채우기
+     *
+     * @param authorId 항목의 작성자 ID 조회 함수
+     * @param setAuthorName 항목에 작성자명을 설정하는 함수
+     */
+    public <T> List<T> fillNames(List<T> items, Function<T, String> authorId, BiConsumer<T, String> setAuthorName) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Set<String> userIds = new LinkedHashSet<>();
+        for (T item : items) {
+            userIds.add(authorId.apply(item));
+        }
+        Map<String, String> resolved = getNames(userIds);
+        for (T item : items) {
+            setAuthorName.accept(item, resolved.get(authorId.apply(item)));
+        }
+        return items;
+    }
+}
@@ -29,6 +29,9 @@ public class UserService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private UserDisplayNameCache userDisplayNameCache;
+
     public void signup(SignupRequest request) {
         // 비밀번호 확인 검증
         if (!request.getPassword().equals(request.getPasswordConfirm())) {
@@ -55,6 +58,7 @@ public class UserService {
         user.setEmail(request.getEmail());
 
         userMapper.insertUser(user);
+        userDisplayNameCache.put(user.getUserId(), user.getName());
         log.info("User created: userId={}, email={}", user.getUserId(), user.getEmail());
 
         // 이메일 인증 토큰 생성
@@ -86,6 +90,8 @@ public class UserService {
         }
 
         log.info("Login successful: userId={}", user.getUserId());
+        // 로그인한 사용자는 곧 글/댓글을 작성할 가능성이 높으므로 미리 캐시
+        userDisplayNameCache.put(user.getUserId(), user.getName());
         return user;
     }
 
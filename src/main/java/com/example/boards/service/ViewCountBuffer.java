@@ -0,0 +1,166 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.PostMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 조회수 버퍼
+ *
+ * 상세 조회마다 UPDATE 하지 않고 게시글별 LongAdder 에 모아 두었다가 주기적으로(그리고 종료 시) 일괄 반영합니다.
+ * 인기 게시글의 행 잠금 경합이 사라지고 조회가 쓰기 트랜잭션이 되지 않습니다.
+ * 반영 전 조회수는 getPending 으로 읽어 DB 값에 더해 보여줍니다.
+ *
+ * 조회수 반영은 게시글 ETag 를 바꾸지 않습니다. 조회할 때마다 ETag 가 바뀌면 조건부 GET 이 304 로 끝나지 않으므로,
+ * 304 응답의 조회수는 다음 내용 변경 전까지 조금 오래된 값일 수 있습니다.
+ *
+ * 반영이 끝나 0 이 된 항목은 제거하므로 버퍼에는 최근 조회된 게시글만 남습니다. 제거와 동시에 들어온 조회수는
+ * increment 가 감지해 새 항목에 다시 기록합니다(잠금 없는 증가 경로 유지).
+ */
+@Component
+public class ViewCountBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewCountBuffer.class);
+
+    @Autowired
+    private PostMapper postMapper;
+
+    /** UPDATE 한 번에 반영할 최대 게시글 수 */
+    @Value("${app.posts.view-count.batch-size:500}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<Long, PendingViews> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 조회수 1 증가 (DB 반영은 다음 flush 에서)
+     */
+    public void increment(Long postId) {
+        PendingViews views = pending.get(postId);
+        if (views == null) {
+            views = pending.computeIfAbsent(postId, id -> new PendingViews());
+        }
+        views.count.increment();
+        if (views.retired) {
+            // 반영 후 제거되는 항목에 더했을 수 있음: 아직 매핑되어 있으면 그대로 반영되고, 제거되었으면 새 항목에 기록
+            PendingViews retired = views;
+            pending.compute(postId, (id, current) -> {
+                if (current == retired) {
+                    return current;
+                }
+                PendingViews next = current != null ? current : new PendingViews();
+                next.count.increment();
+                return next;
+            });
+        }
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 조회수
+     */
+    public long getPending(Long postId) {
+        PendingViews views = pending.get(postId);
+        return views != null ? views.count.sum() : 0;
+    }
+
+    /**
+     * 삭제된 게시글의 미반영 조회수 제거
+     */
+    public void discard(Long postId) {
+        pending.remove(postId);
+    }
+
+    /**
+     * 미반영 조회수를 DB에 일괄 반영
+     *
+     * 반영에 성공한 만큼만 버퍼에서 차감하므로, 그 사이 증가한 조회수는 다음 반영 때 기록되고
+     * DB 오류 시에는 다음 주기에 다시 시도합니다.
+     *
+     * @return 반영된 게시글 수
+     */
+    @Scheduled(fixedDelayString = "${app.posts.view-count.flush-ms:5000}")
+    public synchronized int flush() {
+        Map<Long, Long> batch = new LinkedHashMap<>();
+        Map<Long, PendingViews> adders = new LinkedHashMap<>();
+        int flushed = 0;
+
+        for (Map.Entry<Long, PendingViews> entry : pending.entrySet()) {
+            long delta = entry.getValue().count.sum();
+            if (delta <= 0) {
+                removeIfDrained(entry.getKey());
+                continue;
+            }
+            batch.put(entry.getKey(), delta);
+            adders.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                flushed += flushBatch(batch, adders);
+                batch.clear();
+                adders.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flushed += flushBatch(batch, adders);
+        }
+        return flushed;
+    }
+
+    private int flushBatch(Map<Long, Long> batch, Map<Long, PendingViews> adders) {
+        try {
+            postMapper.addViewCounts(batch);
+        } catch (RuntimeException e) {
+            log.warn("View count flush failed, will retry: posts={}, error={}", batch.size(), e.getMessage());
+            return 0;
+        }
+        for (Map.Entry<Long, Long> entry : batch.entrySet()) {
+            adders.get(entry.getKey()).count.add(-entry.getValue());
+            removeIfDrained(entry.getKey());
+        }
+        return batch.size();
+    }
+
+    /**
+     * 남은 조회수가 0 인 항목 제거
+     * retired 를 먼저 표시한 뒤 합계를 확인하므로, 확인 뒤에 들어온 증가는 increment 가 retired 를 보고 다시 기록합니다.
+     */
+    private void removeIfDrained(Long postId) {
+        pending.computeIfPresent(postId, (id, views) -> {
+            views.retired = true;
+            if (views.count.sum() == 0) {
+                return null;
+            }
+            views.retired = false;
+            return views;
+        });
+    }
+
+    /**
+     * 종료 시 남은 조회수 반영 (진행 중인 예약 반영이 끝난 뒤 실행)
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        log.info("View counts flushed on shutdown: posts={}", flushed);
+    }
+
+    /**
+     * 버퍼에 남아 있는 게시글 수
+     */
+    int size() {
+        return pending.size();
+    }
+
+    private static final class PendingViews {
+        private final LongAdder count = new LongAdder();
+        /** 제거 중(또는 제거됨) 표시 */
+        private volatile boolean retired;
+    }
+}
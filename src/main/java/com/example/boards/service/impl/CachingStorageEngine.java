@@ -0,0 +1,209 @@
+package com.example.boards.service.impl;
+
+import com.example.boards.service.StorageEngine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작고 자주 내려받는 파일을 메모리에 두는 저장소 캐시 계층
+ *
+ * 다른 저장소 앞에 두며, 다운로드(stream)할 때만 채웁니다. 최근에 한 번 요청된 적 있는 키가 다시 요청되면
+ * 그때 메모리에 올리므로(두 번째 요청부터 적재) 한 번씩만 내려받는 파일이 자주 쓰는 파일을 밀어내지 않습니다.
+ * 전체 크기가 maxBytes 를 넘으면 가장 오래 쓰지 않은 항목부터 버립니다.
+ *
+ * 같은 키의 내용은 바뀌지 않으므로 put/delete 때만 무효화합니다.
+ * 축소본 생성 등 전체 읽기(get)는 캐시를 채우지 않습니다.
+ */
+public class CachingStorageEngine implements StorageEngine {
+
+    /** 한 번 요청된 키를 기억하는 개수 */
+    private static final int RECENT_KEYS = 4096;
+
+    private final StorageEngine delegate;
+    private final long maxBytes;
+    private final long maxObjectBytes;
+
+    private final LinkedHashMap<String, CachedObject> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<String, Boolean> recentKeys = new LinkedHashMap<String, Boolean>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > RECENT_KEYS;
+        }
+    };
+    private long currentBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param delegate 실제 저장소
+     * @param maxBytes 캐시 전체 최대 크기 (바이트)
+     * @param maxObjectBytes 캐시할 파일 하나의 최대 크기 (바이트)
+     */
+    public CachingStorageEngine(StorageEngine delegate, long maxBytes, long maxObjectBytes) {
+        this.delegate = delegate;
+        this.maxBytes = maxBytes;
+        this.maxObjectBytes = Math.min(maxObjectBytes, maxBytes);
+    }
+
+    @Override
+    public String keyFor(String filename) {
+        return delegate.keyFor(filename);
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        delegate.put(key, source);
+        invalidate(key);
+    }
+
+    @Override
+    public ObjectInfo stat(String key) throws IOException {
+        CachedObject cached = cached(key);
+        if (cached != null) {
+            return new ObjectInfo(cached.data.length, cached.lastModified, null);
+        }
+        ObjectInfo info = delegate.stat(key);
+        if (info != null && info.getFile() != null && info.getSize() <= maxObjectBytes) {
+            // 작은 파일은 sendfile 대신 stream 으로 보내도록 해서 캐시를 거치게 함
+            return new ObjectInfo(info.getSize(), info.getLastModified(), null);
+        }
+        return info;
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        CachedObject cached = cached(key);
+        if (cached != null) {
+            return new ByteArrayInputStream(cached.data);
+        }
+        return delegate.get(key);
+    }
+
+    @Override
+    public void stream(String key, long offset, long length, OutputStream out) throws IOException {
+        CachedObject cached = cached(key);
+        if (cached == null) {
+            misses.increment();
+            cached = load(key);
+        } else {
+            hits.increment();
+        }
+
+        if (cached == null) {
+            delegate.stream(key, offset, length, out);
+            return;
+        }
+        int start = (int) Math.min(offset, cached.data.length);
+        int count = (int) Math.min(length, cached.data.length - start);
+        out.write(cached.data, start, count);
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        invalidate(key);
+        try {
+            return delegate.delete(key);
+        } finally {
+            // 삭제 중에 다시 적재된 경우까지 제거
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Path localFile(String key) {
+        return delegate.localFile(key);
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = delegate.stats();
+        synchronized (this) {
+            stats.put("memoryCacheEntries", entries.size());
+            stats.put("memoryCacheBytes", currentBytes);
+        }
+        stats.put("memoryCacheMaxBytes", maxBytes);
+        stats.put("memoryCacheHits", hits.sum());
+        stats.put("memoryCacheMisses", misses.sum());
+        stats.put("memoryCacheEvictions", evictions.sum());
+        return stats;
+    }
+
+    private synchronized CachedObject cached(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void invalidate(String key) {
+        CachedObject removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.data.length;
+        }
+        recentKeys.remove(key);
+    }
+
+    /**
+     * 두 번째 요청이고 충분히 작으면 메모리에 올림
+     *
+     * @return 캐시된 객체 (올리지 않았으면 null)
+     */
+    private CachedObject load(String key) throws IOException {
+        synchronized (this) {
+            if (recentKeys.put(key, Boolean.TRUE) == null) {
+                return null;
+            }
+        }
+        ObjectInfo info = delegate.stat(key);
+        if (info == null || info.getSize() > maxObjectBytes) {
+            return null;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) info.getSize());
+        try (InputStream in = delegate.get(key)) {
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+                if (buffer.size() > maxObjectBytes) {
+                    return null;
+                }
+            }
+        }
+        CachedObject loaded = new CachedObject(buffer.toByteArray(), info.getLastModified());
+
+        synchronized (this) {
+            CachedObject previous = entries.put(key, loaded);
+            currentBytes += loaded.data.length - (previous != null ? previous.data.length : 0);
+            Iterator<CachedObject> iterator = entries.values().iterator();
+            while (currentBytes > maxBytes && iterator.hasNext()) {
+                CachedObject eldest = iterator.next();
+                if (eldest == loaded) {
+                    continue;
+                }
+                currentBytes -= eldest.data.length;
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+        return loaded;
+    }
+
+    private static final class CachedObject {
+        private final byte[] data;
+        private final long lastModified;
+
+        private CachedObject(byte[] data, long lastModified) {
+            this.data = data;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.boards.service.impl;
+
+import com.example.boards.service.StorageEngine;
+import com.example.boards.util.ShardedUploadPath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 로컬 파일 시스템 저장소
+ *
+ * 키를 그대로 파일 경로로 사용하며(업로드 디렉토리 기준 상대 경로), 업로드 디렉토리 밖을 가리키는 키는 거부합니다.
+ * 저장은 같은 디렉토리의 임시 파일에 하드 링크(안 되면 복사)한 뒤 원자적으로 이름을 바꿉니다.
+ */
+public class LocalStorageEngine implements StorageEngine {
+
+    private final Path root;
+    private final Path absoluteRoot;
+
+    public LocalStorageEngine(String uploadDir) {
+        this.root = Paths.get(uploadDir);
+        this.absoluteRoot = root.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create upload directory", e);
+        }
+    }
+
+    @Override
+    public String keyFor(String filename) {
+        return ShardedUploadPath.resolve(root, filename).toString();
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp-" + UUID.randomUUID());
+        try {
+            try {
+                // 같은 파일 시스템이면 데이터 복사 없이 처리
+                Files.createLink(temp, source);
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                Files.copy(source, temp);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public ObjectInfo stat(String key) throws IOException {
+        Path file = resolve(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new ObjectInfo(attributes.size(), attributes.lastModifiedTime().toMillis(), file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public void stream(String key, long offset, long length, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Path localFile(String key) {
+        return resolve(key);
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("engine", "local");
+        stats.put("root", absoluteRoot.toString());
+        return stats;
+    }
+
+    private Path resolve(String key) {
+        Path path = Paths.get(key).normalize();
+        if (!path.toAbsolutePath().normalize().startsWith(absoluteRoot)) {
+            throw new IllegalArgumentException("업로드 디렉토리 밖의 경로입니다: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.boards.service.impl;
+
+import com.example.boards.service.StorageEngine;
+import com.example.boards.util.ShardedUploadPath;
+import com.example.boards.util.StreamingUploadWriter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+/**
+ * S3 호환 객체 저장소 (AWS S3, MinIO 등)
+ *
+ * 별도 SDK 없이 REST API 를 서명(AWS Signature V4)해서 호출합니다. 버킷은 경로 방식(endpoint/bucket/key)으로
+ * 접근하므로 로컬 MinIO 나 테스트용 HTTP 서버로 바로 대체할 수 있습니다. 본문은 서명하지 않습니다(UNSIGNED-PAYLOAD).
+ *
+ * 키 형식은 로컬 저장소와 같으며("uploads/ab/cd/{파일명}"), 기존 로컬 파일은 옮기지 않습니다.
+ * 로컬 파일이 없으므로 다운로드는 sendfile 대신 응답 스트림으로 복사하고, 디렉토리 구조 변경 작업은 건너뜁니다.
+ */
+public class S3StorageEngine implements StorageEngine {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final int READ_TIMEOUT_MS = 30000;
+
+    private final String endpoint;
+    private final String bucket;
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+    private final Path root;
+
+    /**
+     * @param endpoint 엔드포인트 (예: https://s3.ap-northeast-2.amazonaws.com, http://localhost:9000)
+     * @param bucket 버킷 이름
+     * @param region 서명용 리전
+     * @param uploadDir 키 접두사 (로컬 저장소의 업로드 디렉토리와 같은 값)
+     */
+    public S3StorageEngine(String endpoint, String bucket, String region,
+                           String accessKey, String secretKey, String uploadDir) {
+        this.endpoint = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.root = Paths.get(uploadDir);
+    }
+
+    @Override
+    public String keyFor(String filename) {
+        return ShardedUploadPath.resolve(root, filename).toString().replace('\\', '/');
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        long size = Files.size(source);
+        HttpURLConnection connection = open("PUT", key, null);
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(size);
+        try {
+            try (OutputStream out = connection.getOutputStream()) {
+                Files.copy(source, out);
+            }
+            expectSuccess(connection, key);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Override
+    public ObjectInfo stat(String key) throws IOException {
+        HttpURLConnection connection = open("HEAD", key, null);
+        try {
+            int status = connection.getResponseCode();
+            if (status == 404) {
+                return null;
+            }
+            expectSuccess(connection, key);
+            return new ObjectInfo(connection.getContentLengthLong(), connection.getLastModified(), null);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return openBody(key, null);
+    }
+
+    @Override
+    public void stream(String key, long offset, long length, OutputStream out) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+        String range = "bytes=" + offset + "-" + (offset + length - 1);
+        try (InputStream in = openBody(key, range)) {
+            byte[] buffer = new byte[64 * 1024];
+            long remaining = length;
+            int read;
+            while (remaining > 0 && (read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        HttpURLConnection connection = open("DELETE", key, null);
+        try {
+            // S3 는 없는 키도 204 로 응답
+            expectSuccess(connection, key);
+            return true;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Override
+    public Path localFile(String key) {
+        return null;
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("engine", "s3");
+        stats.put("endpoint", endpoint);
+        stats.put("bucket", bucket);
+        return stats;
+    }
+
+    private InputStream openBody(String key, String range) throws IOException {
+        HttpURLConnection connection = open("GET", key, range);
+        int status = connection.getResponseCode();
+        if (status == 404) {
+            connection.disconnect();
+            throw new NoSuchFileException(key);
+        }
+        if (status < 200 || status >= 300) {
+            connection.disconnect();
+            throw new IOException("객체 저장소 요청 실패 (GET " + key + "): HTTP " + status);
+        }
+        return new FilterInputStream(connection.getInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    connection.disconnect();
+                }
+            }
+        };
+    }
+
+    private HttpURLConnection open(String method, String key, String range) throws IOException {
+        String canonicalUri = "/" + encodePath(bucket) + "/" + encodePath(key);
+        URL url = new URL(endpoint + canonicalUri);
+        String amzDate = amzDate(new Date());
+
+        Map<String, String> headers = new TreeMap<>();
+        headers.put("host", hostHeader(url));
+        headers.put("x-amz-content-sha256", UNSIGNED_PAYLOAD);
+        headers.put("x-amz-date", amzDate);
+        if (range != null) {
+            headers.put("range", range);
+        }
+
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        connection.setInstanceFollowRedirects(false);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (!header.getKey().equals("host")) {
+                connection.setRequestProperty(header.getKey(), header.getValue());
+            }
+        }
+        connection.setRequestProperty("Authorization",
+                authorization(method, canonicalUri, headers, UNSIGNED_PAYLOAD, amzDate, region, accessKey, secretKey));
+        return connection;
+    }
+
+    private static void expectSuccess(HttpURLConnection connection, String key) throws IOException {
+        int status = connection.getResponseCode();
+        if (status < 200 || status >= 300) {
+            throw new IOException("객체 저장소 요청 실패 (" + connection.getRequestMethod() + " " + key + "): HTTP " + status);
+        }
+    }
+
+    /**
+     * Authorization 헤더 값 (AWS Signature V4)
+     *
+     * @param headers 서명할 헤더 (소문자 이름, 정렬된 맵)
+     */
+    static String authorization(String method, String canonicalUri, Map<String, String> headers,
+                                String payloadHash, String amzDate, String region,
+                                String accessKey, String secretKey) {
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/s3/aws4_request";
+
+        StringBuilder canonicalHeaders = new StringBuilder();
+        StringBuilder signedHeaders = new StringBuilder();
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            canonicalHeaders.append(header.getKey()).append(':').append(header.getValue().trim()).append('\n');
+            if (signedHeaders.length() > 0) {
+                signedHeaders.append(';');
+            }
+            signedHeaders.append(header.getKey());
+        }
+
+        String canonicalRequest = method + "\n"
+                + canonicalUri + "\n"
+                + "\n"
+                + canonicalHeaders + "\n"
+                + signedHeaders + "\n"
+                + payloadHash;
+        String stringToSign = ALGORITHM + "\n"
+                + amzDate + "\n"
+                + scope + "\n"
+                + sha256Hex(canonicalRequest);
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, "s3");
+        signingKey = hmac(signingKey, "aws4_request");
+        String signature = StreamingUploadWriter.toHex(hmac(signingKey, stringToSign));
+
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope
+                + ",SignedHeaders=" + signedHeaders
+                + ",Signature=" + signature;
+    }
+
+    /**
+     * 경로 인코딩 (RFC 3986 비예약 문자와 '/' 외에는 %XX)
+     */
+    static String encodePath(String path) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : path.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || c == '/') {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(String.format("%02X", b & 0xff));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static String hostHeader(URL url) {
+        int port = url.getPort();
+        if (port == -1 || port == url.getDefaultPort()) {
+            return url.getHost();
+        }
+        return url.getHost() + ":" + port;
+    }
+
+    private static String amzDate(Date now) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd'T'HHmmss'Z'");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(now);
+    }
+
+    private static String sha256Hex(String value) {
+        return StreamingUploadWriter.toHex(StreamingUploadWriter.sha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -13,6 +13,7 @@ public class FilePathSanitizer {
 
     /**
      * 파일명을 정제하고 안전한 저장 경로를 생성합니다.
+     * 저장 경로는 해시 접두사 하위 디렉토리입니다. (ShardedUploadPath, 디렉토리는 호출자가 생성)
      *
      * @param uploadDir 업로드 디렉토리
      * @param originalFilename 원본 파일명
@@ -20,6 +21,30 @@ public class FilePathSanitizer {
      * @throws SecurityException 경로 순회 시도가 감지된 경우
      */
     public static Path sanitizeFilePath(String uploadDir, String originalFilename) throws IOException {
+        String storedFilename = sanitizeStoredFilename(originalFilename);
+
+        // 파일 경로 생성 및 정규화
+        Path filePath = ShardedUploadPath.resolve(Paths.get(uploadDir), storedFilename).normalize();
+
+        // 해석된 경로가 업로드 디렉토리 내에 있는지 검증
+        Path uploadDirPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path absoluteFilePath = filePath.toAbsolutePath().normalize();
+
+        if (!absoluteFilePath.startsWith(uploadDirPath)) {
+            throw new SecurityException("잘못된 파일 경로: 디렉토리 순회 시도가 감지되었습니다.");
+        }
+
+        return filePath;
+    }
+
+    /**
+     * 원본 파일명을 정제해 저장 파일명을 만듭니다. ("{UUID}_{정제된 파일명}")
+     *
+     * @param originalFilename 원본 파일명
+     * @return 경로 구분자가 없는 저장 파일명
+     * @throws SecurityException 파일명이 비었거나 정제 후 남는 문자가 없는 경우
+     */
+    public static String sanitizeStoredFilename(String originalFilename) {
         if (originalFilename == null || originalFilename.trim().isEmpty()) {
             throw new SecurityException("파일명이 비어있습니다.");
         }
@@ -35,20 +60,7 @@ public class FilePathSanitizer {
         }
 
         // UUID를 접두사로 추가하여 파일명 충돌 방지 및 보안 강화
-        String storedFilename = UUID.randomUUID().toString() + "_" + sanitized;
-
-        // 파일 경로 생성 및 정규화
-        Path filePath = Paths.get(uploadDir, storedFilename).normalize();
-
-        // 해석된 경로가 업로드 디렉토리 내에 있는지 검증
-        Path uploadDirPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-        Path absoluteFilePath = filePath.toAbsolutePath().normalize();
-
-        if (!absoluteFilePath.startsWith(uploadDirPath)) {
-            throw new SecurityException("잘못된 파일 경로: 디렉토리 순회 시도가 감지되었습니다.");
-        }
-
-        return filePath;
+        return UUID.randomUUID().toString() + "_" + sanitized;
     }
 
     /**
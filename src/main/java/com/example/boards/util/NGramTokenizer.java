@@ -0,0 +1,68 @@
+package com.example.boards.util;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색 색인용 n-gram 토크나이저
+ *
+ * 형태소 분석 없이 글자 단위 1-gram/2-gram 으로 나누므로 한국어처럼 조사가 붙는 언어에서도
+ * 부분 문자열 검색(LIKE '%검색어%')과 같은 결과를 얻을 수 있습니다.
+ */
+public class NGramTokenizer {
+
+    /**
+     * 색인/검색 전에 텍스트 정규화
+     * 소문자 변환, 연속 공백을 하나로 합치고 앞뒤 공백 제거
+     *
+     * @param text 원본 텍스트
+     * @return 정규화된 텍스트 (null 이면 빈 문자열)
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * 색인할 n-gram 추출 (공백이 아닌 1-gram + 모든 2-gram)
+     *
+     * @param normalized 정규화된 텍스트
+     * @return n-gram 집합
+     */
+    public static Set<String> indexGrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        int[] codePoints = normalized.codePoints().toArray();
+        for (int i = 0; i < codePoints.length; i++) {
+            if (!Character.isWhitespace(codePoints[i])) {
+                grams.add(new String(codePoints, i, 1));
+            }
+            if (i + 1 < codePoints.length) {
+                grams.add(new String(codePoints, i, 2));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 검색어의 n-gram 추출
+     * 한 글자 검색어는 1-gram, 그 외에는 2-gram 으로 색인을 조회합니다.
+     *
+     * @param normalized 정규화된 검색어
+     * @return n-gram 집합 (검색어가 비어 있으면 빈 집합)
+     */
+    public static Set<String> queryGrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        int[] codePoints = normalized.codePoints().toArray();
+        if (codePoints.length == 1) {
+            grams.add(normalized);
+            return grams;
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            grams.add(new String(codePoints, i, 2));
+        }
+        return grams;
+    }
+}
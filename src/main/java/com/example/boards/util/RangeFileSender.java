@@ -0,0 +1,212 @@
+package com.example.boards.util;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 파일 다운로드 응답 전송 유틸리티 (HTTP Range / 206 지원)
+ *
+ * Tomcat 이 sendfile 을 지원하면(org.apache.tomcat.sendfile.support) 요청 속성으로 파일 위치만 넘겨
+ * 커넥터가 커널 sendfile 로 전송하므로 파일 내용이 Java 힙을 거치지 않습니다.
+ * 지원하지 않는 경우(SSL 등)에는 FileChannel.transferTo 로 응답 스트림에 복사합니다.
+ * 메모리 캐시나 원격 저장소처럼 로컬 파일이 없는 내용은 RangeWriter 로 요청 구간만 씁니다.
+ *
+ * Range 는 단일 구간만 지원하며, 여러 구간 요청은 전체 파일(200)로 응답합니다 (RFC 7233 허용).
+ */
+public class RangeFileSender {
+
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /** 만족할 수 없는 Range (416) */
+    static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    /**
+     * 전송 구간 (start, end 모두 포함)
+     */
+    static final class ByteRange {
+        final long start;
+        final long end;
+
+        ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * 파일 전송 (Range 요청이면 206 + Content-Range)
+     *
+     * 호출 전에 응답 본문을 쓰지 않아야 하며, 컨트롤러는 호출 후 null 을 반환합니다.
+     *
+     * @param contentType Content-Type
+     * @param contentDisposition Content-Disposition (null 이면 생략)
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, Path file,
+                            String contentType, String contentDisposition) throws IOException {
+        send(request, response, file, contentType, contentDisposition, null);
+    }
+
+    /**
+     * 파일 전송 (If-Range 검사 포함)
+     *
+     * If-Range 가 현재 강한 ETag 와 다르면(또는 ETag 가 없으면) Range 를 무시하고 전체 파일을 보냅니다.
+     *
+     * @param entityTag 파일의 강한 ETag (없으면 null)
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, Path file,
+                            String contentType, String contentDisposition, String entityTag) throws IOException {
+        ByteRange range = prepare(request, response, Files.size(file), contentType, contentDisposition, entityTag);
+        if (range == null) {
+            return;
+        }
+        long count = range.end - range.start + 1;
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // 본문은 Tomcat 커넥터가 sendfile 로 전송 (end 는 미포함 위치)
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, range.start);
+            request.setAttribute(SENDFILE_END_ATTR, range.end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /**
+     * 로컬 파일이 아닌 내용 전송 (메모리 캐시, 원격 저장소 등)
+     *
+     * @param length 전체 크기
+     * @param body 요청된 구간을 응답 스트림에 쓰는 함수
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, long length, RangeWriter body,
+                            String contentType, String contentDisposition, String entityTag) throws IOException {
+        ByteRange range = prepare(request, response, length, contentType, contentDisposition, entityTag);
+        if (range == null) {
+            return;
+        }
+        body.write(range.start, range.end - range.start + 1, response.getOutputStream());
+    }
+
+    /**
+     * 구간 내용 쓰기
+     */
+    @FunctionalInterface
+    public interface RangeWriter {
+        void write(long offset, long length, OutputStream out) throws IOException;
+    }
+
+    /**
+     * 상태 코드와 헤더 설정
+     *
+     * @return 보낼 구간 (본문이 없으면 null: HEAD, 빈 파일, 416)
+     */
+    private static ByteRange prepare(HttpServletRequest request, HttpServletResponse response, long length,
+                                     String contentType, String contentDisposition, String entityTag) {
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setContentType(contentType);
+        if (contentDisposition != null) {
+            response.setHeader("Content-Disposition", contentDisposition);
+        }
+
+        String rangeHeader = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange != null && (entityTag == null || !ifRange.trim().equals(entityTag))) {
+            rangeHeader = null;
+        }
+
+        ByteRange range = parseRange(rangeHeader, length);
+        if (range == UNSATISFIABLE) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader("Content-Range", "bytes */" + length);
+            response.setContentLength(0);
+            return null;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        if (range != null) {
+            start = range.start;
+            end = range.end;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count <= 0) {
+            return null;
+        }
+        return new ByteRange(start, end);
+    }
+
+    /**
+     * Range 헤더 해석
+     *
+     * @param header Range 헤더 값
+     * @param length 파일 크기
+     * @return 전송 구간 (전체 전송이면 null, 범위를 벗어나면 UNSATISFIABLE)
+     */
+    static ByteRange parseRange(String header, long length) {
+        if (header == null || !header.startsWith("bytes=") || length == 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        if (spec.contains(",")) {
+            return null;
+        }
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // bytes=-N : 마지막 N 바이트
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            return new ByteRange(start, Math.min(end, length - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.boards.util;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * 업로드 파일의 2단계 해시 접두사 디렉토리 경로
+ *
+ * 한 디렉토리에 수십만 개 파일이 쌓이면 조회/백업/목록이 느려지므로
+ * "{업로드 디렉토리}/ab/cd/{파일명}" 처럼 파일명 앞 4자리(16진수)로 두 단계 나눠 저장합니다.
+ * (디렉토리당 최대 256개 → 65,536개 말단 디렉토리)
+ *
+ * 내용 주소 파일명(SHA-256)과 UUID 로 시작하는 파일명은 앞 4자리를 그대로 쓰고,
+ * 그 외 파일명은 파일명의 SHA-256 앞 4자리를 씁니다.
+ */
+public class ShardedUploadPath {
+
+    private static final int PREFIX_LENGTH = 4;
+
+    /**
+     * 파일명이 저장될 경로
+     *
+     * @param root 업로드 디렉토리
+     * @param filename 저장 파일명 (경로 구분자 없음)
+     */
+    public static Path resolve(Path root, String filename) {
+        String prefix = shardPrefix(filename);
+        return root.resolve(prefix.substring(0, 2)).resolve(prefix.substring(2, 4)).resolve(filename);
+    }
+
+    private static String shardPrefix(String filename) {
+        if (isHexPrefix(filename)) {
+            return filename.substring(0, PREFIX_LENGTH).toLowerCase();
+        }
+        byte[] hash = StreamingUploadWriter.sha256().digest(filename.getBytes(StandardCharsets.UTF_8));
+        return StreamingUploadWriter.toHex(new byte[]{hash[0], hash[1]});
+    }
+
+    private static boolean isHexPrefix(String filename) {
+        if (filename.length() < PREFIX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < PREFIX_LENGTH; i++) {
+            if (Character.digit(filename.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
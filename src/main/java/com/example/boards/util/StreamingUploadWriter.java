@@ -0,0 +1,209 @@
+package com.example.boards.util;
+
+import lombok.Getter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 업로드 파일 단일 패스 저장 유틸리티
+ *
+ * 업로드 스트림을 한 번만 읽으면서 최종 위치에 쓰고, SHA-256 체크섬을 계산하고, 검증기(엑셀 등)에
+ * 같은 바이트를 넘깁니다. 검증기가 스트림을 끝까지 읽지 않으면 나머지를 이어서 저장합니다.
+ * 검증 실패나 입출력 오류가 나면 쓰던 파일을 삭제합니다.
+ */
+public class StreamingUploadWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 저장 결과
+     */
+    @Getter
+    public static class StoredUpload {
+        private final Path path;
+        private final long size;
+        private final String sha256;
+        /** 검증 결과 (검증기가 없으면 null) */
+        private final Map<String, Object> validation;
+
+        private StoredUpload(Path path, long size, String sha256, Map<String, Object> validation) {
+            this.path = path;
+            this.size = size;
+            this.sha256 = sha256;
+            this.validation = validation;
+        }
+
+        public boolean isValid() {
+            return validation == null || Boolean.TRUE.equals(validation.get("isValid"));
+        }
+    }
+
+    /**
+     * 스트림을 target 에 저장
+     *
+     * @param source 업로드 스트림 (닫지 않음)
+     * @param target 저장 위치 (이미 있으면 실패)
+     * @param validator 저장하면서 같은 바이트로 실행할 검증기 (ExcelValidator 결과 형식, 없으면 null)
+     * @return 저장 결과 (검증 실패 시 파일은 삭제된 상태)
+     * @throws IOException 저장 실패 (파일은 삭제된 상태)
+     */
+    public static StoredUpload write(InputStream source, Path target,
+                                     Function<InputStream, Map<String, Object>> validator) throws IOException {
+        MessageDigest digest = sha256();
+        boolean success = false;
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            TeeInputStream tee = new TeeInputStream(source, channel, digest);
+
+            Map<String, Object> validation = null;
+            if (validator != null) {
+                validation = validator.apply(tee);
+            }
+            if (validation != null && !Boolean.TRUE.equals(validation.get("isValid"))) {
+                return new StoredUpload(target, tee.size, null, validation);
+            }
+
+            // 검증기가 읽지 않은 나머지 (압축 파일 끝의 중앙 디렉토리 등)
+            tee.drain();
+            tee.flush();
+
+            success = true;
+            return new StoredUpload(target, tee.size, toHex(digest.digest()), validation);
+        } finally {
+            if (!success) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+
+    /**
+     * 새 SHA-256 다이제스트
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 바이트 배열을 소문자 16진수 문자열로 변환 (SHA-256 표기용)
+     */
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * 읽은 바이트를 파일 채널과 다이제스트에 함께 넘기는 입력 스트림
+     * 검증기가 닫거나 skip 해도 저장되는 바이트가 빠지지 않도록 close 는 무시하고 skip 은 읽어서 처리합니다.
+     */
+    private static final class TeeInputStream extends FilterInputStream {
+        private final FileChannel channel;
+        private final MessageDigest digest;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private long size;
+        private IOException writeFailure;
+
+        private TeeInputStream(InputStream source, FileChannel channel, MessageDigest digest) {
+            super(source);
+            this.channel = channel;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy(new byte[]{(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                copy(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] skipBuffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(skipBuffer, 0, (int) Math.min(n - skipped, skipBuffer.length));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // 원본 스트림은 호출자가 닫음
+        }
+
+        private void copy(byte[] b, int off, int len) throws IOException {
+            digest.update(b, off, len);
+            size += len;
+            try {
+                while (len > 0) {
+                    int chunk = Math.min(len, buffer.remaining());
+                    buffer.put(b, off, chunk);
+                    off += chunk;
+                    len -= chunk;
+                    if (!buffer.hasRemaining()) {
+                        flush();
+                    }
+                }
+            } catch (IOException e) {
+                // 검증기가 예외를 삼켜도 저장 실패는 드러나도록 기록
+                writeFailure = e;
+                throw e;
+            }
+        }
+
+        private void drain() throws IOException {
+            if (writeFailure != null) {
+                throw writeFailure;
+            }
+            byte[] chunk = new byte[BUFFER_SIZE];
+            while (read(chunk, 0, chunk.length) >= 0) {
+                // 읽으면서 저장됨
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
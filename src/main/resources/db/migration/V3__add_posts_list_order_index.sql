@@ -0,0 +1,8 @@
+-- ================================================
+-- 게시글 목록 키셋 페이지네이션 인덱스 추가
+-- 버전: V3
+-- ================================================
+
+-- 목록 정렬 키(is_notice DESC, created_at DESC, post_id DESC)와 동일한 컬럼 순서의 복합 인덱스
+-- 커서 조회 시 OFFSET 스캔 없이 인덱스 역방향 범위 탐색으로 다음 페이지를 읽습니다.
+CREATE INDEX IF NOT EXISTS idx_posts_list_order ON posts(is_notice, created_at, post_id);
@@ -0,0 +1,17 @@
+-- ================================================
+-- 게시글 댓글/첨부파일 카운터 컬럼 추가
+-- 버전: V4
+-- ================================================
+
+-- Step 1: 카운터 컬럼 추가
+ALTER TABLE posts
+ADD COLUMN IF NOT EXISTS comment_count INT NOT NULL DEFAULT 0,
+ADD COLUMN IF NOT EXISTS file_count INT NOT NULL DEFAULT 0;
+
+-- Step 2: 기존 데이터 기준으로 카운터 채우기 (수정일은 유지)
+UPDATE posts p
+LEFT JOIN (SELECT post_id, COUNT(*) AS cnt FROM comments GROUP BY post_id) c ON p.post_id = c.post_id
+LEFT JOIN (SELECT post_id, COUNT(*) AS cnt FROM file_attachments GROUP BY post_id) f ON p.post_id = f.post_id
+SET p.comment_count = COALESCE(c.cnt, 0),
+    p.file_count = COALESCE(f.cnt, 0),
+    p.updated_at = p.updated_at;
@@ -0,0 +1,14 @@
+-- ================================================
+-- 게시글 목록 미리보기(excerpt) 컬럼 추가
+-- 버전: V5
+-- ================================================
+
+-- Step 1: 미리보기 컬럼 추가 (목록 조회 시 본문 TEXT 컬럼을 읽지 않기 위함)
+ALTER TABLE posts
+ADD COLUMN IF NOT EXISTS excerpt VARCHAR(200) DEFAULT NULL;
+
+-- Step 2: 기존 게시글의 미리보기 채우기 (수정일은 유지)
+UPDATE posts
+SET excerpt = LEFT(TRIM(REGEXP_REPLACE(content, '[[:space:]]+', ' ')), 100),
+    updated_at = updated_at
+WHERE excerpt IS NULL;
@@ -0,0 +1,17 @@
+-- ================================================
+-- 게시글 FULLTEXT 검색 인덱스 추가
+-- 버전: V6
+-- ================================================
+
+-- MariaDB 는 MySQL 의 ngram 파서를 제공하지 않으므로 기본 파서(공백 단위 어절)를 사용하고,
+-- 검색 시 BOOLEAN MODE 접두사 검색("+스프링*")으로 조사가 붙은 어절까지 찾습니다.
+-- 두 글자 한국어 단어를 색인하려면 서버 설정에서 최소 토큰 길이를 낮춰야 합니다. (변경 후 인덱스 재생성 필요)
+--   [mysqld]
+--   innodb_ft_min_token_size = 2
+
+-- Step 1: 제목 검색용 / 제목+본문 검색용 FULLTEXT 인덱스
+CREATE FULLTEXT INDEX IF NOT EXISTS ft_posts_title ON posts(title);
+CREATE FULLTEXT INDEX IF NOT EXISTS ft_posts_title_content ON posts(title, content);
+
+-- Step 2: 작성자명 일치 검색용 인덱스
+CREATE INDEX IF NOT EXISTS idx_users_name ON users(name);
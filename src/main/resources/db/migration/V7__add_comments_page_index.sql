@@ -0,0 +1,11 @@
+-- ================================================
+-- 댓글 키셋 페이지네이션 인덱스 추가
+-- 버전: V7
+-- ================================================
+
+-- 댓글 정렬 키(created_at ASC, comment_id ASC)를 게시글별로 포함하는 복합 인덱스
+-- 커서 이후 댓글을 정렬 없이 인덱스 범위 탐색으로 limit 건만 읽습니다.
+CREATE INDEX IF NOT EXISTS idx_comments_post_page ON comments(post_id, created_at, comment_id);
+
+-- 위 인덱스의 선행 컬럼과 중복되므로 제거
+DROP INDEX IF EXISTS idx_comments_post_id ON comments;
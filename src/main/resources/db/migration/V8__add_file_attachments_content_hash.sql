@@ -0,0 +1,10 @@
+-- ================================================
+-- 첨부파일 내용 주소 저장(중복 제거) 컬럼 추가
+-- 버전: V8
+-- ================================================
+
+-- 본문 SHA-256 (hex). 같은 값을 가진 행 수가 실제 파일의 참조 수입니다.
+-- 기존 첨부파일은 NULL 로 남으며 UUID 파일명 그대로 단독 소유로 처리됩니다.
+ALTER TABLE file_attachments ADD COLUMN IF NOT EXISTS content_hash CHAR(64) NULL AFTER content_type;
+
+CREATE INDEX IF NOT EXISTS idx_file_attachments_content_hash ON file_attachments(content_hash);
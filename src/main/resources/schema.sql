@@ -10,14 +10,20 @@ CREATE TABLE IF NOT EXISTS users (
     password_changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- 작성자명 검색용 인덱스
+CREATE INDEX IF NOT EXISTS idx_users_name ON users(name);
+
 -- 게시판 테이블
 CREATE TABLE IF NOT EXISTS posts (
     post_id BIGINT AUTO_INCREMENT PRIMARY KEY,
     title VARCHAR(200) NOT NULL,
     content TEXT NOT NULL,
+    excerpt VARCHAR(200) DEFAULT NULL,
     author_id VARCHAR(50) NOT NULL,
     is_notice BOOLEAN DEFAULT FALSE,
     view_count INT DEFAULT 0,
+    comment_count INT NOT NULL DEFAULT 0,
+    file_count INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (author_id) REFERENCES users(user_id)
@@ -26,6 +32,11 @@ CREATE TABLE IF NOT EXISTS posts (
 -- 인덱스 생성
 CREATE INDEX IF NOT EXISTS idx_posts_created_at ON posts(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_posts_is_notice ON posts(is_notice);
+-- 목록 정렬(is_notice DESC, created_at DESC, post_id DESC) 및 키셋 페이지네이션용 복합 인덱스
+CREATE INDEX IF NOT EXISTS idx_posts_list_order ON posts(is_notice, created_at, post_id);
+-- FULLTEXT 검색 방식(app.posts.search.backend=fulltext)용 인덱스
+CREATE FULLTEXT INDEX IF NOT EXISTS ft_posts_title ON posts(title);
+CREATE FULLTEXT INDEX IF NOT EXISTS ft_posts_title_content ON posts(title, content);
 
 -- 댓글 테이블
 CREATE TABLE IF NOT EXISTS comments (
@@ -48,16 +59,20 @@ CREATE TABLE IF NOT EXISTS file_attachments (
     file_path VARCHAR(500) NOT NULL,
     file_size BIGINT NOT NULL,
     content_type VARCHAR(100),
+    content_hash CHAR(64) NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (post_id) REFERENCES posts(post_id) ON DELETE CASCADE
 );
 
 -- 댓글 인덱스
-CREATE INDEX IF NOT EXISTS idx_comments_post_id ON comments(post_id);
+-- 게시글별 댓글 정렬(created_at, comment_id) 및 키셋 페이지네이션용 복합 인덱스
+CREATE INDEX IF NOT EXISTS idx_comments_post_page ON comments(post_id, created_at, comment_id);
 CREATE INDEX IF NOT EXISTS idx_comments_created_at ON comments(created_at DESC);
 
 -- 첨부파일 인덱스
 CREATE INDEX IF NOT EXISTS idx_file_attachments_post_id ON file_attachments(post_id);
+-- 내용 주소 파일 참조 수 조회용
+CREATE INDEX IF NOT EXISTS idx_file_attachments_content_hash ON file_attachments(content_hash);
 
 -- 이메일 인증 토큰 테이블
 CREATE TABLE IF NOT EXISTS email_verification_tokens (
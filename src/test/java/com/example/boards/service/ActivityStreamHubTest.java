@@ -0,0 +1,165 @@
+package com.example.boards.service;
+
+import com.example.boards.model.Post;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivityStreamHubTest {
+
+    /** 테스트가 넣어 둔 emitter 를 순서대로 쓰고, 없으면 기본 emitter */
+    private final ConcurrentLinkedQueue<SseEmitter> emitters = new ConcurrentLinkedQueue<>();
+
+    private final ActivityStreamHub hub = new ActivityStreamHub() {
+        @Override
+        SseEmitter createEmitter() {
+            SseEmitter emitter = emitters.poll();
+            return emitter != null ? emitter : super.createEmitter();
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hub, "maxConnections", 3);
+        ReflectionTestUtils.setField(hub, "maxConnectionsPerClient", 2);
+        ReflectionTestUtils.setField(hub, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(hub, "subscriberQueueCapacity", 2);
+        ReflectionTestUtils.setField(hub, "writerThreads", 2);
+        hub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void testPerClientConnectionLimit() {
+        // When
+        SseEmitter first = hub.subscribeBoard("user:a");
+        SseEmitter second = hub.subscribePost(1L, "user:a");
+        SseEmitter third = hub.subscribePost(2L, "user:a");
+        SseEmitter otherClient = hub.subscribeBoard("user:b");
+
+        // Then
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(third);
+        assertNotNull(otherClient);
+        assertEquals(3, hub.stats().get("connections"));
+    }
+
+    @Test
+    void testGlobalConnectionLimit() {
+        // When
+        hub.subscribeBoard("user:a");
+        hub.subscribeBoard("user:b");
+        hub.subscribeBoard("user:c");
+        SseEmitter rejected = hub.subscribeBoard("user:d");
+
+        // Then
+        assertNull(rejected);
+        assertEquals(3, hub.stats().get("connections"));
+    }
+
+    @Test
+    void testSlowSubscriberIsDroppedWithoutDelayingOthers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowCompleted = new CountDownLatch(1);
+        SseEmitter slow = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public synchronized void complete() {
+                slowCompleted.countDown();
+            }
+        };
+        Semaphore fastReceived = new Semaphore(0);
+        SseEmitter fast = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                fastReceived.release();
+            }
+        };
+        emitters.add(slow);
+        emitters.add(fast);
+        hub.subscribeBoard("user:slow");
+        hub.subscribeBoard("user:fast");
+        assertTrue(fastReceived.tryAcquire(5, TimeUnit.SECONDS));
+
+        // When
+        for (long i = 1; i <= 3; i++) {
+            Post post = new Post();
+            post.setPostId(i);
+            hub.publishPostCreated(post);
+            // Then - 느린 구독자가 막혀 있어도 다른 구독자는 바로 받음
+            assertTrue(fastReceived.tryAcquire(5, TimeUnit.SECONDS));
+        }
+
+        // Then
+        assertEquals(1L, hub.stats().get("droppedSubscribers"));
+        assertEquals(1, hub.stats().get("connections"));
+        release.countDown();
+        assertTrue(slowCompleted.await(5, TimeUnit.SECONDS));
+        assertNotNull(hub.subscribeBoard("user:slow"));
+    }
+
+    @Test
+    void testSubscriberRecoversAfterWriterQueueRejection() throws Exception {
+        // Given - 전송 스레드와 작업 대기열을 모두 막아 둠
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor writers = (ThreadPoolExecutor) ReflectionTestUtils.getField(hub, "writers");
+        Runnable blocker = () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        for (int i = 0; i < 2 + 3; i++) {
+            writers.execute(blocker);
+        }
+        Semaphore received = new Semaphore(0);
+        SseEmitter subscriber = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.release();
+            }
+        };
+        emitters.add(subscriber);
+
+        // When - 연결 직후 전송 작업은 거부됨
+        hub.subscribeBoard("user:a");
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((writers.getActiveCount() > 0 || !writers.getQueue().isEmpty()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Post post = new Post();
+        post.setPostId(1L);
+        hub.publishPostCreated(post);
+
+        // Then - 거부된 연결 이벤트와 새 이벤트를 모두 받음
+        assertTrue(received.tryAcquire(2, 5, TimeUnit.SECONDS));
+        assertEquals(1, hub.stats().get("connections"));
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.FileAttachmentMapper;
+import com.example.boards.model.FileAttachment;
+import com.example.boards.service.impl.LocalStorageEngine;
+import com.example.boards.util.StreamingUploadWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentContentStoreTest {
+
+    @Mock
+    private FileAttachmentMapper fileAttachmentMapper;
+
+    private Path uploadDir;
+    private AttachmentContentStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("content-store");
+        store = new AttachmentContentStore(fileAttachmentMapper, new LocalStorageEngine(uploadDir.toString()), uploadDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+
+    @Test
+    void testCommit_DuplicateContentReusesStoredFile() throws Exception {
+        // Given
+        FileAttachment first = new FileAttachment();
+        FileAttachment second = new FileAttachment();
+
+        // When
+        boolean firstDeduplicated = store.commit(stage("same bytes"), first, () -> null);
+        StreamingUploadWriter.StoredUpload staged = stage("same bytes");
+        boolean secondDeduplicated = store.commit(staged, second, () -> null);
+
+        // Then
+        assertFalse(firstDeduplicated);
+        assertTrue(secondDeduplicated);
+        assertEquals(first.getFilePath(), second.getFilePath());
+        assertEquals(first.getContentHash(), second.getContentHash());
+        assertEquals(64, first.getContentHash().length());
+        assertEquals(Long.valueOf(10), second.getFileSize());
+        assertFalse(Files.exists(staged.getPath()));
+        assertEquals("same bytes", new String(Files.readAllBytes(Paths.get(first.getFilePath())), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCommit_RegisterFailureRemovesNewFile() throws Exception {
+        // Given
+        FileAttachment file = new FileAttachment();
+        StreamingUploadWriter.StoredUpload staged = stage("orphan");
+
+        // When
+        assertThrows(IllegalStateException.class, () -> store.commit(staged, file, () -> {
+            throw new IllegalStateException("insert failed");
+        }));
+
+        // Then
+        assertFalse(Files.exists(Paths.get(file.getFilePath())));
+        assertFalse(Files.exists(staged.getPath()));
+    }
+
+    @Test
+    void testCommitAll_CountsDuplicatesWithinBatch() throws Exception {
+        // Given
+        List<FileAttachment> files = Arrays.asList(new FileAttachment(), new FileAttachment(), new FileAttachment());
+
+        // When
+        int deduplicated = store.commitAll(Arrays.asList(stage("alpha"), stage("beta"), stage("alpha")), files,
+                Runnable::run, () -> null);
+
+        // Then
+        assertEquals(1, deduplicated);
+        assertEquals(files.get(0).getFilePath(), files.get(2).getFilePath());
+        assertEquals("beta", new String(Files.readAllBytes(Paths.get(files.get(1).getFilePath())), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCommitAll_FailureKeepsContentReferencedElsewhere() throws Exception {
+        // Given
+        List<FileAttachment> files = Arrays.asList(new FileAttachment(), new FileAttachment());
+        List<StreamingUploadWriter.StoredUpload> staged = Arrays.asList(stage("shared"), stage("orphan"));
+        // 같은 내용을 다른 요청이 그 사이 등록함
+        when(fileAttachmentMapper.countByContentHash(staged.get(0).getSha256())).thenReturn(1);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> store.commitAll(staged, files, Runnable::run, () -> {
+            throw new IllegalStateException("insert failed");
+        }));
+
+        // Then
+        assertTrue(Files.exists(Paths.get(files.get(0).getFilePath())));
+        assertFalse(Files.exists(Paths.get(files.get(1).getFilePath())));
+        assertFalse(Files.exists(staged.get(0).getPath()));
+        assertFalse(Files.exists(staged.get(1).getPath()));
+    }
+
+    @Test
+    void testRelease_DeletesOnlyAfterLastReference() throws Exception {
+        // Given
+        FileAttachment file = new FileAttachment();
+        store.commit(stage("shared"), file, () -> null);
+        Path stored = Paths.get(file.getFilePath());
+        when(fileAttachmentMapper.countByContentHash(file.getContentHash())).thenReturn(1, 0);
+
+        // When
+        store.releaseAfterCommit(Collections.singletonList(file));
+        boolean existsWhileReferenced = Files.exists(stored);
+        store.releaseAfterCommit(Collections.singletonList(file));
+
+        // Then
+        assertTrue(existsWhileReferenced);
+        assertFalse(Files.exists(stored));
+    }
+
+    @Test
+    void testRelease_LegacyFileDeletedDirectly() throws Exception {
+        // Given
+        Path legacy = Files.write(uploadDir.resolve("uuid_legacy.txt"), new byte[]{1});
+        FileAttachment file = new FileAttachment();
+        file.setFilePath(legacy.toString());
+
+        // When
+        store.releaseAfterCommit(Collections.singletonList(file));
+
+        // Then
+        assertFalse(Files.exists(legacy));
+        verifyZeroInteractions(fileAttachmentMapper);
+    }
+
+    @Test
+    void testRelease_LegacyFileAlsoDeletesRelocatedCopy() throws Exception {
+        // Given - 삭제 직전에 relocate 가 샤딩된 위치로 복사함
+        Path legacy = Files.write(uploadDir.resolve("0a1b2c3d_report.pdf"), new byte[]{1});
+        Path relocated = Files.createDirectories(uploadDir.resolve("0a").resolve("1b")).resolve("0a1b2c3d_report.pdf");
+        Files.write(relocated, new byte[]{1});
+        FileAttachment file = new FileAttachment();
+        file.setStoredFilename("0a1b2c3d_report.pdf");
+        file.setFilePath(legacy.toString());
+
+        // When
+        store.releaseAfterCommit(Collections.singletonList(file));
+
+        // Then
+        assertFalse(Files.exists(legacy));
+        assertFalse(Files.exists(relocated));
+    }
+
+    @Test
+    void testCommit_StoresUnderHashPrefixDirectories() throws Exception {
+        // Given
+        FileAttachment file = new FileAttachment();
+
+        // When
+        store.commit(stage("sharded"), file, () -> null);
+
+        // Then
+        String hash = file.getContentHash();
+        Path expected = uploadDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+        assertEquals(expected.toString(), file.getFilePath());
+        assertTrue(Files.exists(expected));
+    }
+
+    @Test
+    void testCommit_LegacyFlatCopyIsMovedAndReused() throws Exception {
+        // Given - 샤딩 이전 위치에 같은 내용이 있음
+        FileAttachment probe = new FileAttachment();
+        store.commit(stage("old content"), probe, () -> null);
+        Path legacy = uploadDir.resolve(probe.getContentHash());
+        Files.move(Paths.get(probe.getFilePath()), legacy);
+        FileAttachment file = new FileAttachment();
+
+        // When
+        boolean deduplicated = store.commit(stage("old content"), file, () -> null);
+
+        // Then
+        assertTrue(deduplicated);
+        assertFalse(Files.exists(legacy));
+        assertTrue(Files.exists(Paths.get(file.getFilePath())));
+        verify(fileAttachmentMapper).updateFilePathByContentHash(file.getContentHash(), legacy.toString(), file.getFilePath());
+    }
+
+    @Test
+    void testRelocate_LegacyContentFileMovesAllRows() throws Exception {
+        // Given
+        FileAttachment probe = new FileAttachment();
+        store.commit(stage("flat"), probe, () -> null);
+        Path legacy = uploadDir.resolve(probe.getContentHash());
+        Files.move(Paths.get(probe.getFilePath()), legacy);
+        FileAttachment file = new FileAttachment();
+        file.setContentHash(probe.getContentHash());
+        file.setFilePath(legacy.toString());
+
+        // When
+        boolean moved = store.relocate(file);
+        boolean movedAgain = store.relocate(file);
+
+        // Then
+        assertTrue(moved);
+        assertFalse(movedAgain);
+        assertEquals("flat", new String(Files.readAllBytes(Paths.get(probe.getFilePath())), StandardCharsets.UTF_8));
+        verify(fileAttachmentMapper).updateFilePathByContentHash(probe.getContentHash(), legacy.toString(), probe.getFilePath());
+    }
+
+    @Test
+    void testRelocate_LegacyUuidFile() throws Exception {
+        // Given
+        Path legacy = Files.write(uploadDir.resolve("0a1b2c3d_report.pdf"), new byte[]{1, 2, 3});
+        FileAttachment file = new FileAttachment();
+        file.setFileId(7L);
+        file.setStoredFilename("0a1b2c3d_report.pdf");
+        file.setFilePath(legacy.toString());
+        Path target = uploadDir.resolve("0a").resolve("1b").resolve("0a1b2c3d_report.pdf");
+        when(fileAttachmentMapper.updateFilePath(7L, legacy.toString(), target.toString())).thenReturn(1);
+
+        // When
+        boolean moved = store.relocate(file);
+
+        // Then
+        assertTrue(moved);
+        assertFalse(Files.exists(legacy));
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(target));
+    }
+
+    @Test
+    void testRelocate_DeletedRowKeepsNothingBehind() throws Exception {
+        // Given - 옮기는 사이 첨부파일 행이 삭제됨
+        Path legacy = Files.write(uploadDir.resolve("0a1b2c3d_report.pdf"), new byte[]{1});
+        FileAttachment file = new FileAttachment();
+        file.setFileId(7L);
+        file.setStoredFilename("0a1b2c3d_report.pdf");
+        file.setFilePath(legacy.toString());
+        when(fileAttachmentMapper.updateFilePath(anyLong(), anyString(), anyString())).thenReturn(0);
+
+        // When
+        boolean moved = store.relocate(file);
+
+        // Then
+        assertFalse(moved);
+        assertTrue(Files.exists(legacy));
+        assertFalse(Files.exists(uploadDir.resolve("0a").resolve("1b").resolve("0a1b2c3d_report.pdf")));
+    }
+
+    private StreamingUploadWriter.StoredUpload stage(String content) throws Exception {
+        return store.stage(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), null);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.boards.service;
+
+import com.example.boards.model.FileAttachment;
+import com.example.boards.service.impl.LocalStorageEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentZipServiceTest {
+
+    private Path uploadDir;
+    private StorageEngine storageEngine;
+    private AttachmentZipService attachmentZipService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("attachment-zip");
+        storageEngine = new LocalStorageEngine(uploadDir.toString());
+        attachmentZipService = new AttachmentZipService();
+        ReflectionTestUtils.setField(attachmentZipService, "storageEngine", storageEngine);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+
+    @Test
+    void testWrite_SkipsCompressionForCompressedTypes() throws Exception {
+        // Given
+        FileAttachment text = attachment(1L, "aaaa_notes", "notes.txt", "text/plain", "hello hello hello hello");
+        FileAttachment photo = attachment(2L, "bbbb_photo", "photo.jpg", "image/jpeg", "jpeg-bytes");
+        FileAttachment sameName = attachment(3L, "cccc_notes", "dir/notes.txt", "text/plain", "second");
+        FileAttachment missing = new FileAttachment();
+        missing.setFileId(4L);
+        missing.setOriginalFilename("gone.txt");
+        missing.setFilePath(storageEngine.keyFor("dddd_gone"));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = attachmentZipService.write(Arrays.asList(text, photo, sameName, missing), out);
+
+        // Then
+        assertEquals(3, written);
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8)) {
+            ZipEntry entry = zip.getNextEntry();
+            assertEquals("notes.txt", entry.getName());
+            assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+            assertEquals("hello hello hello hello", StreamUtils.copyToString(zip, StandardCharsets.UTF_8));
+
+            entry = zip.getNextEntry();
+            assertEquals("photo.jpg", entry.getName());
+            assertEquals("jpeg-bytes", StreamUtils.copyToString(zip, StandardCharsets.UTF_8));
+            // 압축 수준 0: 원본보다 크게 저장될 수는 있어도 압축되지는 않음
+            assertTrue(entry.getCompressedSize() >= entry.getSize());
+
+            entry = zip.getNextEntry();
+            assertEquals("notes (2).txt", entry.getName());
+            assertEquals("second", StreamUtils.copyToString(zip, StandardCharsets.UTF_8));
+
+            assertNull(zip.getNextEntry());
+        }
+    }
+
+    @Test
+    void testIsCompressed_ByContentTypeOrExtension() {
+        // When & Then
+        assertTrue(AttachmentZipService.isCompressed("a.bin", "image/png"));
+        assertTrue(AttachmentZipService.isCompressed("report.xlsx", null));
+        assertTrue(AttachmentZipService.isCompressed("doc", "application/pdf"));
+        assertFalse(AttachmentZipService.isCompressed("logo.svg", "image/svg+xml"));
+        assertFalse(AttachmentZipService.isCompressed("data.csv", "text/csv"));
+        assertFalse(AttachmentZipService.isCompressed("old.xls", "application/vnd.ms-excel"));
+    }
+
+    @Test
+    void testEntryName_StripsPathAndNumbersDuplicates() {
+        // Given
+        Set<String> used = new HashSet<>();
+
+        // When & Then
+        assertEquals("a.txt", AttachmentZipService.entryName(named(1L, "../../a.txt"), used));
+        assertEquals("A (2).txt", AttachmentZipService.entryName(named(2L, "C:\\temp\\A.txt"), used));
+        assertEquals("file-3", AttachmentZipService.entryName(named(3L, ".."), used));
+    }
+
+    private FileAttachment attachment(Long fileId, String storedName, String originalFilename,
+                                      String contentType, String content) throws Exception {
+        Path source = Files.write(uploadDir.resolve(storedName + ".src"), content.getBytes(StandardCharsets.UTF_8));
+        String key = storageEngine.keyFor(storedName);
+        storageEngine.put(key, source);
+        Files.delete(source);
+
+        FileAttachment file = named(fileId, originalFilename);
+        file.setFilePath(key);
+        file.setContentType(contentType);
+        return file;
+    }
+
+    private FileAttachment named(Long fileId, String originalFilename) {
+        FileAttachment file = new FileAttachment();
+        file.setFileId(fileId);
+        file.setOriginalFilename(originalFilename);
+        return file;
+    }
+}
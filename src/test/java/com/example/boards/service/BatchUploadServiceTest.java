@@ -0,0 +1,144 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.FileAttachmentMapper;
+import com.example.boards.model.FileAttachment;
+import com.example.boards.service.impl.LocalStorageEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchUploadServiceTest {
+
+    @Mock
+    private FileAttachmentMapper fileAttachmentMapper;
+
+    @Mock
+    private FileAttachmentService fileAttachmentService;
+
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    private Path uploadDir;
+    private BatchUploadService batchUploadService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("batch-upload");
+        batchUploadService = new BatchUploadService();
+        ReflectionTestUtils.setField(batchUploadService, "attachmentContentStore",
+                new AttachmentContentStore(fileAttachmentMapper, new LocalStorageEngine(uploadDir.toString()), uploadDir.toString()));
+        ReflectionTestUtils.setField(batchUploadService, "fileAttachmentService", fileAttachmentService);
+        ReflectionTestUtils.setField(batchUploadService, "imageDerivativeService", imageDerivativeService);
+        ReflectionTestUtils.setField(batchUploadService, "maxFiles", 3);
+        ReflectionTestUtils.setField(batchUploadService, "maxFileSize", 1024L);
+        ReflectionTestUtils.setField(batchUploadService, "poolSize", 2);
+        ReflectionTestUtils.setField(batchUploadService, "queueCapacity", 1);
+        batchUploadService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        batchUploadService.stop();
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+
+    @Test
+    void testUpload_StoresAllFilesAndRegistersOnce() throws Exception {
+        // When
+        List<FileAttachment> files = batchUploadService.upload(1L,
+                Arrays.asList(file("a.txt", "alpha"), file("b.txt", "beta"), file("c.txt", "alpha")));
+
+        // Then
+        verify(fileAttachmentService, times(1)).createFiles(eq(1L), anyList());
+        verify(imageDerivativeService, times(3)).enqueue(any(FileAttachment.class));
+        assertEquals(3, files.size());
+        assertEquals("a.txt", files.get(0).getOriginalFilename());
+        assertEquals(files.get(0).getContentHash(), files.get(2).getContentHash());
+        assertNotEquals(files.get(0).getContentHash(), files.get(1).getContentHash());
+        assertEquals("beta", new String(Files.readAllBytes(Paths.get(files.get(1).getFilePath())), StandardCharsets.UTF_8));
+        assertEquals(2, storedFiles());
+        assertEquals(0, incomingFiles());
+    }
+
+    @Test
+    void testUpload_RegistrationFailureRollsBackNewContent() throws Exception {
+        // Given
+        doThrow(new RuntimeException("DB 오류")).when(fileAttachmentService).createFiles(anyLong(), anyList());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> batchUploadService.upload(1L,
+                Arrays.asList(file("a.txt", "alpha"), file("b.txt", "beta"))));
+        assertEquals(0, storedFiles());
+        assertEquals(0, incomingFiles());
+        verifyZeroInteractions(imageDerivativeService);
+    }
+
+    @Test
+    void testUpload_EmptyFileRejectsWholeBatch() throws Exception {
+        // When
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> batchUploadService.upload(1L,
+                Arrays.asList(file("a.txt", "alpha"), file("empty.txt", ""))));
+
+        // Then
+        assertTrue(e.getMessage().startsWith("empty.txt"));
+        verifyZeroInteractions(fileAttachmentService);
+        assertEquals(0, storedFiles());
+    }
+
+    @Test
+    void testUpload_TooManyFilesRejected() {
+        // Given
+        List<MultipartFile> files = Arrays.asList(file("a", "1"), file("b", "2"), file("c", "3"), file("d", "4"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> batchUploadService.upload(1L, files));
+        assertThrows(IllegalArgumentException.class, () -> batchUploadService.upload(1L, Collections.emptyList()));
+        verifyZeroInteractions(fileAttachmentService);
+    }
+
+    private MultipartFile file(String name, String content) {
+        return new MockMultipartFile("files", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 내용 주소 위치(uploads/ab/cd/{해시})에 저장된 파일 수 */
+    private long storedFiles() throws Exception {
+        try (Stream<Path> paths = Files.walk(uploadDir)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> !path.getParent().getFileName().toString().equals(".incoming"))
+                    .count();
+        }
+    }
+
+    private long incomingFiles() throws Exception {
+        Path incoming = uploadDir.resolve(".incoming");
+        if (!Files.exists(incoming)) {
+            return 0;
+        }
+        try (Stream<Path> paths = Files.list(incoming)) {
+            return paths.count();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.ChunkedUploadRequest;
+import com.example.boards.dto.ChunkedUploadStatus;
+import com.example.boards.dto.PostAccess;
+import com.example.boards.exception.UploadLimitExceededException;
+import com.example.boards.exception.UploadOffsetMismatchException;
+import com.example.boards.mapper.FileAttachmentMapper;
+import com.example.boards.model.FileAttachment;
+import com.example.boards.service.impl.LocalStorageEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadServiceTest {
+
+    @Mock
+    private FileAttachmentMapper fileAttachmentMapper;
+
+    @Mock
+    private FileAttachmentService fileAttachmentService;
+
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    @Mock
+    private PostService postService;
+
+    private Path uploadDir;
+    private ChunkedUploadService chunkedUploadService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("chunked-upload");
+        chunkedUploadService = new ChunkedUploadService();
+        ReflectionTestUtils.setField(chunkedUploadService, "attachmentContentStore",
+                new AttachmentContentStore(fileAttachmentMapper, new LocalStorageEngine(uploadDir.toString()), uploadDir.toString()));
+        ReflectionTestUtils.setField(chunkedUploadService, "fileAttachmentService", fileAttachmentService);
+        ReflectionTestUtils.setField(chunkedUploadService, "imageDerivativeService", imageDerivativeService);
+        ReflectionTestUtils.setField(chunkedUploadService, "maxSize", 1024L);
+        ReflectionTestUtils.setField(chunkedUploadService, "chunkSize", 4);
+        ReflectionTestUtils.setField(chunkedUploadService, "maxChunkSize", 512L);
+        ReflectionTestUtils.setField(chunkedUploadService, "sessionTimeoutMinutes", 60L);
+        ReflectionTestUtils.setField(chunkedUploadService, "postService", postService);
+        ReflectionTestUtils.setField(chunkedUploadService, "maxSessionsPerUser", 2);
+        ReflectionTestUtils.setField(chunkedUploadService, "maxReservedBytes", 30L);
+
+        PostAccess post = new PostAccess();
+        post.setPostId(1L);
+        post.setAuthorId("user1");
+        lenient().when(postService.getPostAccess(1L)).thenReturn(post);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+
+    @Test
+    void testUpload_ChunksAreAppendedAndRegistered() throws Exception {
+        // Given
+        ChunkedUploadStatus started = chunkedUploadService.initiate("user1", request("notes.txt", 10));
+
+        // When
+        chunkedUploadService.appendChunk(started.getUploadId(), "user1", 0, body("01234"));
+        ChunkedUploadStatus status = chunkedUploadService.appendChunk(started.getUploadId(), "user1", 5, body("56789"));
+        FileAttachment file = chunkedUploadService.complete(started.getUploadId(), "user1");
+
+        // Then
+        assertEquals(10, status.getOffset());
+        assertEquals(sha256Hex("0123456789"), file.getContentHash());
+        assertEquals(Long.valueOf(10), file.getFileSize());
+        assertEquals("0123456789", new String(Files.readAllBytes(Paths.get(file.getFilePath())), StandardCharsets.UTF_8));
+        verify(fileAttachmentService).createFile(file);
+        assertNull(chunkedUploadService.getStatus(started.getUploadId(), "user1"));
+    }
+
+    @Test
+    void testAppendChunk_OverlappingRetrySkipsReceivedBytes() throws Exception {
+        // Given
+        ChunkedUploadStatus started = chunkedUploadService.initiate("user1", request("notes.txt", 10));
+        chunkedUploadService.appendChunk(started.getUploadId(), "user1", 0, body("0123456"));
+
+        // When - 앞 조각 응답을 못 받은 클라이언트가 5 부터 다시 전송
+        ChunkedUploadStatus status = chunkedUploadService.appendChunk(started.getUploadId(), "user1", 5, body("56789"));
+        FileAttachment file = chunkedUploadService.complete(started.getUploadId(), "user1");
+
+        // Then
+        assertEquals(10, status.getOffset());
+        assertEquals(sha256Hex("0123456789"), file.getContentHash());
+    }
+
+    @Test
+    void testAppendChunk_BrokenConnectionKeepsWrittenBytes() throws Exception {
+        // Given
+        ChunkedUploadStatus started = chunkedUploadService.initiate("user1", request("notes.txt", 10));
+        InputStream broken = new InputStream() {
+            private int sent;
+
+            @Override
+            public int read() throws IOException {
+                if (sent == 3) {
+                    throw new IOException("connection reset");
+                }
+                return '0' + sent++;
+            }
+        };
+
+        // When
+        assertThrows(IOException.class, () -> chunkedUploadService.appendChunk(started.getUploadId(), "user1", 0, broken));
+        long resumeAt = chunkedUploadService.getStatus(started.getUploadId(), "user1").getOffset();
+        chunkedUploadService.appendChunk(started.getUploadId(), "user1", resumeAt, body("0123456789".substring((int) resumeAt)));
+        FileAttachment file = chunkedUploadService.complete(started.getUploadId(), "user1");
+
+        // Then
+        assertEquals(sha256Hex("0123456789"), file.getContentHash());
+    }
+
+    @Test
+    void testAppendChunk_GapIsRejected() throws Exception {
+        // Given
+        ChunkedUploadStatus started = chunkedUploadService.initiate("user1", request("notes.txt", 10));
+
+        // When
+        UploadOffsetMismatchException e = assertThrows(UploadOffsetMismatchException.class,
+                () -> chunkedUploadService.appendChunk(started.getUploadId(), "user1", 4, body("4567")));
+
+        // Then
+        assertEquals(0, e.getExpectedOffset());
+    }
+
+    @Test
+    void testComplete_IncompleteUploadIsRejected() throws Exception {
+        // Given
+        ChunkedUploadStatus started = chunkedUploadService.initiate("user1", request("notes.txt", 10));
+        chunkedUploadService.appendChunk(started.getUploadId(), "user1", 0, body("01234"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.complete(started.getUploadId(), "user1"));
+        verify(fileAttachmentService, never()).createFile(any());
+    }
+
+    @Test
+    void testComplete_DeletedPostIsRejected() throws Exception {
+        // Given
+        ChunkedUploadStatus started = chunkedUploadService.initiate("user1", request("notes.txt", 5));
+        chunkedUploadService.appendChunk(started.getUploadId(), "user1", 0, body("01234"));
+        when(postService.getPostAccess(1L)).thenReturn(null);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.complete(started.getUploadId(), "user1"));
+        verify(fileAttachmentService, never()).createFile(any());
+        assertNull(chunkedUploadService.getStatus(started.getUploadId(), "user1"));
+        assertFalse(Files.exists(uploadDir.resolve(".incoming").resolve(started.getUploadId() + ".part")));
+    }
+
+    @Test
+    void testInitiate_PerUserSessionLimit() throws Exception {
+        // Given
+        ChunkedUploadStatus first = chunkedUploadService.initiate("user1", request("a.txt", 5));
+        chunkedUploadService.initiate("user1", request("b.txt", 5));
+
+        // When & Then
+        assertThrows(UploadLimitExceededException.class, () -> chunkedUploadService.initiate("user1", request("c.txt", 5)));
+        assertNotNull(chunkedUploadService.initiate("user2", request("c.txt", 5)));
+        chunkedUploadService.abort(first.getUploadId(), "user1");
+        assertNotNull(chunkedUploadService.initiate("user1", request("c.txt", 5)));
+    }
+
+    @Test
+    void testInitiate_TotalReservedBytesLimit() throws Exception {
+        // Given
+        ChunkedUploadStatus first = chunkedUploadService.initiate("user1", request("a.bin", 20));
+
+        // When & Then
+        assertThrows(UploadLimitExceededException.class, () -> chunkedUploadService.initiate("user2", request("b.bin", 20)));
+        assertNotNull(chunkedUploadService.initiate("user2", request("b.bin", 10)));
+        chunkedUploadService.abort(first.getUploadId(), "user1");
+        assertNotNull(chunkedUploadService.initiate("user2", request("c.bin", 20)));
+    }
+
+    @Test
+    void testUpload_OtherUserCannotAccess() throws Exception {
+        // Given
+        ChunkedUploadStatus started = chunkedUploadService.initiate("user1", request("notes.txt", 10));
+
+        // When & Then
+        assertNull(chunkedUploadService.getStatus(started.getUploadId(), "user2"));
+        assertNull(chunkedUploadService.appendChunk(started.getUploadId(), "user2", 0, body("01234")));
+        assertFalse(chunkedUploadService.abort(started.getUploadId(), "user2"));
+    }
+
+    @Test
+    void testInitiate_TooLargeIsRejected() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> chunkedUploadService.initiate("user1", request("huge.bin", 2048)));
+    }
+
+    private ChunkedUploadRequest request(String filename, long size) {
+        ChunkedUploadRequest request = new ChunkedUploadRequest();
+        request.setPostId(1L);
+        request.setFilename(filename);
+        request.setContentType("text/plain");
+        request.setSize(size);
+        return request;
+    }
+
+    private InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String sha256Hex(String content) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
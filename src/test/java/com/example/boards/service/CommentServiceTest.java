@@ -0,0 +1,143 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.CommentCursor;
+import com.example.boards.dto.CommentPage;
+import com.example.boards.mapper.CommentMapper;
+import com.example.boards.mapper.PostMapper;
+import com.example.boards.model.Comment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentServiceTest {
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private PostListCache postListCache;
+
+    @Mock
+    private ContentVersionTracker contentVersionTracker;
+
+    @Mock
+    private ActivityStreamHub activityStreamHub;
+
+    @Mock
+    private UserDisplayNameCache userDisplayNameCache;
+
+    @InjectMocks
+    private CommentService commentService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(commentService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(commentService, "maxPageSize", 10);
+    }
+
+    private Comment comment(Long commentId) {
+        Comment comment = new Comment();
+        comment.setCommentId(commentId);
+        comment.setPostId(1L);
+        comment.setCreatedAt(new Date(1700000000000L + commentId));
+        return comment;
+    }
+
+    @Test
+    void testGetCommentsPageReturnsNextCursor() {
+        // Given
+        when(commentMapper.findPageByPostId(1L, null, 3))
+                .thenReturn(Arrays.asList(comment(1L), comment(2L), comment(3L)));
+
+        // When
+        CommentPage page = commentService.getCommentsPage(1L, null, null);
+
+        // Then
+        assertEquals(2, page.getComments().size());
+        CommentCursor next = CommentCursor.decode(page.getNextCursor());
+        assertEquals(Long.valueOf(2L), next.getCommentId());
+        assertEquals(comment(2L).getCreatedAt(), next.getCreatedAt());
+    }
+
+    @Test
+    void testGetCommentsPageCapsLimit() {
+        // Given
+        when(commentMapper.findPageByPostId(eq(1L), isNull(), anyInt()))
+                .thenReturn(Arrays.asList(comment(1L)));
+
+        // When
+        CommentPage page = commentService.getCommentsPage(1L, null, 1000);
+
+        // Then
+        verify(commentMapper).findPageByPostId(1L, null, 11);
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testCreateCommentIncrementsCounter() {
+        // Given
+        Comment newComment = comment(1L);
+
+        // When
+        commentService.createComment(newComment);
+
+        // Then
+        verify(postMapper).adjustCommentCount(1L, 1);
+        verify(commentMapper).insertComment(newComment);
+        verify(postListCache).invalidateAfterCommit();
+        verify(activityStreamHub).publishCommentCreated(newComment);
+    }
+
+    @Test
+    void testDeleteCommentDecrementsCounter() {
+        // Given
+        when(commentMapper.findById(1L)).thenReturn(comment(1L));
+        when(commentMapper.deleteComment(1L)).thenReturn(1);
+
+        // When
+        commentService.deleteComment(1L);
+
+        // Then
+        verify(postMapper).adjustCommentCount(1L, -1);
+        verify(postListCache).invalidateAfterCommit();
+    }
+
+    @Test
+    void testDeleteCommentAlreadyDeletedKeepsCounter() {
+        // Given - 동시 요청이 먼저 삭제함
+        when(commentMapper.findById(1L)).thenReturn(comment(1L));
+        when(commentMapper.deleteComment(1L)).thenReturn(0);
+
+        // When
+        commentService.deleteComment(1L);
+
+        // Then
+        verify(postMapper, never()).adjustCommentCount(anyLong(), anyInt());
+        verifyZeroInteractions(postListCache);
+    }
+
+    @Test
+    void testDeleteMissingCommentDoesNothing() {
+        // When
+        commentService.deleteComment(99L);
+
+        // Then
+        verify(commentMapper, never()).deleteComment(anyLong());
+        verifyZeroInteractions(postMapper);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.boards.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentVersionTrackerTest {
+
+    private final ContentVersionTracker tracker = new ContentVersionTracker();
+
+    @Test
+    void testPostChangeUpdatesPostAndListETags() {
+        // Given
+        String postETag = tracker.postETag(1L);
+        String otherPostETag = tracker.postETag(2L);
+        String listETag = tracker.listETag();
+
+        // When
+        tracker.postChanged(1L);
+
+        // Then
+        assertNotEquals(postETag, tracker.postETag(1L));
+        assertNotEquals(listETag, tracker.listETag());
+        assertEquals(otherPostETag, tracker.postETag(2L));
+        assertTrue(tracker.postETag(1L).startsWith("W/\""));
+    }
+
+    @Test
+    void testResetChangesAllETags() {
+        // Given
+        String postETag = tracker.postETag(1L);
+        String commentsETag = tracker.commentsETag(1L);
+
+        // When
+        tracker.reset();
+
+        // Then
+        assertNotEquals(postETag, tracker.postETag(1L));
+        assertNotEquals(commentsETag, tracker.commentsETag(1L));
+    }
+
+    @Test
+    void testDeletedPostVersionIsForgottenWithoutReusingETags() {
+        // Given
+        String untouchedETag = tracker.postETag(2L);
+        tracker.postChanged(1L);
+        String changedETag = tracker.postETag(1L);
+        String listETag = tracker.listETag();
+
+        // When
+        tracker.postDeletedAfterCommit(1L);
+
+        // Then - 버전 기록은 지워지지만 ETag 는 이전 값과 겹치지 않음
+        Map<?, ?> postVersions = (Map<?, ?>) ReflectionTestUtils.getField(tracker, "postVersions");
+        assertTrue(postVersions.isEmpty());
+        assertNotEquals(changedETag, tracker.postETag(1L));
+        assertNotEquals(untouchedETag, tracker.postETag(2L));
+        assertNotEquals(listETag, tracker.listETag());
+        assertTrue(tracker.postVersion(1L) > 0);
+    }
+}
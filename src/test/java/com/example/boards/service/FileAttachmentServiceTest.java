@@ -0,0 +1,142 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.FileAttachmentMapper;
+import com.example.boards.mapper.PostMapper;
+import com.example.boards.model.FileAttachment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileAttachmentServiceTest {
+
+    @Mock
+    private FileAttachmentMapper fileAttachmentMapper;
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private PostListCache postListCache;
+
+    @Mock
+    private ContentVersionTracker contentVersionTracker;
+
+    @Mock
+    private AttachmentContentStore attachmentContentStore;
+
+    @InjectMocks
+    private FileAttachmentService fileAttachmentService;
+
+    private FileAttachment file(Long fileId) {
+        FileAttachment file = new FileAttachment();
+        file.setFileId(fileId);
+        file.setPostId(1L);
+        file.setOriginalFilename("file-" + fileId + ".txt");
+        return file;
+    }
+
+    @Test
+    void testCreateFileIncrementsCounter() {
+        // Given
+        FileAttachment file = file(1L);
+
+        // When
+        fileAttachmentService.createFile(file);
+
+        // Then
+        verify(postMapper).adjustFileCount(1L, 1);
+        verify(fileAttachmentMapper).insertFile(file);
+        verify(postListCache).invalidateAfterCommit();
+        verify(contentVersionTracker).postChangedAfterCommit(1L);
+    }
+
+    @Test
+    void testCreateFilesAdjustsCounterOnce() {
+        // Given
+        List<FileAttachment> files = Arrays.asList(file(1L), file(2L), file(3L));
+
+        // When
+        fileAttachmentService.createFiles(1L, files);
+
+        // Then
+        verify(postMapper).adjustFileCount(1L, 3);
+        verify(fileAttachmentMapper).insertFiles(files);
+    }
+
+    @Test
+    void testCreateFilesEmptyDoesNothing() {
+        // When
+        fileAttachmentService.createFiles(1L, Collections.emptyList());
+
+        // Then
+        verifyZeroInteractions(postMapper, fileAttachmentMapper);
+    }
+
+    @Test
+    void testDeleteFileDecrementsCounterAndReleasesContent() {
+        // Given
+        FileAttachment file = file(1L);
+        when(fileAttachmentMapper.findById(1L)).thenReturn(file);
+        when(fileAttachmentMapper.deleteFile(1L)).thenReturn(1);
+
+        // When
+        fileAttachmentService.deleteFile(1L);
+
+        // Then
+        verify(postMapper).adjustFileCount(1L, -1);
+        verify(attachmentContentStore).releaseAfterCommit(Collections.singletonList(file));
+    }
+
+    @Test
+    void testDeleteFileAlreadyDeletedKeepsCounter() {
+        // Given - 동시 요청이 먼저 삭제함
+        when(fileAttachmentMapper.findById(1L)).thenReturn(file(1L));
+        when(fileAttachmentMapper.deleteFile(1L)).thenReturn(0);
+
+        // When
+        fileAttachmentService.deleteFile(1L);
+
+        // Then
+        verify(postMapper, never()).adjustFileCount(anyLong(), anyInt());
+        verifyZeroInteractions(attachmentContentStore, postListCache);
+    }
+
+    @Test
+    void testDeleteFilesByPostIdSubtractsDeletedRows() {
+        // Given
+        List<FileAttachment> files = Arrays.asList(file(1L), file(2L));
+        when(fileAttachmentMapper.findByPostId(1L)).thenReturn(files);
+        when(fileAttachmentMapper.deleteByPostId(1L)).thenReturn(2);
+
+        // When
+        fileAttachmentService.deleteFilesByPostId(1L);
+
+        // Then
+        verify(postMapper).adjustFileCount(1L, -2);
+        verify(attachmentContentStore).releaseAfterCommit(files);
+    }
+
+    @Test
+    void testDeleteFilesByPostIdNothingDeletedKeepsCounter() {
+        // Given
+        when(fileAttachmentMapper.findByPostId(1L)).thenReturn(Collections.emptyList());
+        when(fileAttachmentMapper.deleteByPostId(1L)).thenReturn(0);
+
+        // When
+        fileAttachmentService.deleteFilesByPostId(1L);
+
+        // Then
+        verify(postMapper, never()).adjustFileCount(anyLong(), anyInt());
+        verifyZeroInteractions(attachmentContentStore);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.boards.service;
+
+import com.example.boards.model.FileAttachment;
+import com.example.boards.service.impl.LocalStorageEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ImageDerivativeServiceTest {
+
+    private Path uploadDir;
+    private StorageEngine storageEngine;
+    private ImageDerivativeService imageDerivativeService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("image-derivative");
+        storageEngine = new LocalStorageEngine(uploadDir.toString());
+        imageDerivativeService = new ImageDerivativeService();
+        ReflectionTestUtils.setField(imageDerivativeService, "storageEngine", storageEngine);
+        ReflectionTestUtils.setField(imageDerivativeService, "thumbSize", 32);
+        ReflectionTestUtils.setField(imageDerivativeService, "mediumSize", 64);
+        ReflectionTestUtils.setField(imageDerivativeService, "maxSourcePixels", 1000000L);
+        ReflectionTestUtils.setField(imageDerivativeService, "poolSize", 1);
+        ReflectionTestUtils.setField(imageDerivativeService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(imageDerivativeService, "maxOnDemand", 1);
+        ReflectionTestUtils.setField(imageDerivativeService, "onDemandWaitMs", 1000L);
+        imageDerivativeService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        imageDerivativeService.stop();
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+
+    @Test
+    void testResolve_CreatesScaledJpegThumbnail() throws Exception {
+        // Given
+        FileAttachment file = image("photo", "jpg", "image/jpeg", 400, 200);
+
+        // When
+        Path thumb = path(imageDerivativeService.resolve(file, ImageDerivativeService.Variant.THUMB));
+
+        // Then
+        assertNotNull(thumb);
+        assertTrue(thumb.getFileName().toString().endsWith(".thumb.jpg"));
+        BufferedImage scaled = ImageIO.read(thumb.toFile());
+        assertEquals(32, scaled.getWidth());
+        assertEquals(16, scaled.getHeight());
+    }
+
+    @Test
+    void testResolve_PngKeepsPngAndIsReused() throws Exception {
+        // Given
+        FileAttachment file = image("logo", "png", "image/png", 100, 100);
+
+        // When
+        Path first = path(imageDerivativeService.resolve(file, ImageDerivativeService.Variant.MEDIUM));
+        long modified = Files.getLastModifiedTime(first).toMillis();
+        Path second = path(imageDerivativeService.resolve(file, ImageDerivativeService.Variant.MEDIUM));
+
+        // Then
+        assertTrue(first.getFileName().toString().endsWith(".medium.png"));
+        assertEquals(first, second);
+        assertEquals(modified, Files.getLastModifiedTime(second).toMillis());
+        assertEquals(64, ImageIO.read(first.toFile()).getWidth());
+    }
+
+    @Test
+    void testResolve_NonImageReturnsNull() throws Exception {
+        // Given
+        Path path = uploadDir.resolve("notes");
+        Files.write(path, "hello".getBytes(StandardCharsets.UTF_8));
+        FileAttachment file = attachment(path, "text/plain");
+
+        // When & Then
+        assertNull(imageDerivativeService.resolve(file, ImageDerivativeService.Variant.THUMB));
+    }
+
+    @Test
+    void testResolve_UndecodableImageFallsBackToOriginal() throws Exception {
+        // Given - 이미지로 올렸지만 ImageIO 가 읽지 못하는 내용
+        Path path = uploadDir.resolve("broken");
+        Files.write(path, "not really a webp".getBytes(StandardCharsets.UTF_8));
+        FileAttachment file = attachment(path, "image/webp");
+
+        // When
+        Path thumb = path(imageDerivativeService.resolve(file, ImageDerivativeService.Variant.THUMB));
+
+        // Then
+        assertNull(thumb);
+        assertEquals(1, imageDerivativeService.stats().get("unsupported"));
+    }
+
+    @Test
+    void testResolve_StorageReadFailureIsNotMarkedUnsupported() throws Exception {
+        // Given
+        StorageEngine failing = mock(StorageEngine.class);
+        when(failing.get(anyString())).thenThrow(new IOException("connection reset"));
+        ReflectionTestUtils.setField(imageDerivativeService, "storageEngine", failing);
+        FileAttachment file = attachment(uploadDir.resolve("remote"), "image/jpeg");
+
+        // When & Then
+        assertThrows(IOException.class, () -> imageDerivativeService.resolve(file, ImageDerivativeService.Variant.THUMB));
+        assertEquals(0, imageDerivativeService.stats().get("unsupported"));
+    }
+
+    @Test
+    void testResolve_SaturatedFallsBackAndGeneratesInBackground() throws Exception {
+        // Given - 요청 스레드 생성 한도를 모두 사용 중
+        ReflectionTestUtils.setField(imageDerivativeService, "onDemandPermits", new Semaphore(0));
+        FileAttachment file = image("busy", "jpg", "image/jpeg", 100, 100);
+
+        // When & Then
+        assertThrows(IOException.class, () -> imageDerivativeService.resolve(file, ImageDerivativeService.Variant.THUMB));
+        assertEquals(1L, imageDerivativeService.stats().get("onDemandRejected"));
+        for (int i = 0; i < 100 && !imageDerivativeService.stats().get("generated").equals(2L); i++) {
+            Thread.sleep(50);
+        }
+        assertNotNull(imageDerivativeService.resolve(file, ImageDerivativeService.Variant.THUMB));
+    }
+
+    @Test
+    void testResolve_TooLargeSourceIsSkipped() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(imageDerivativeService, "maxSourcePixels", 100L);
+        FileAttachment file = image("large", "png", "image/png", 20, 20);
+
+        // When & Then
+        assertNull(imageDerivativeService.resolve(file, ImageDerivativeService.Variant.THUMB));
+    }
+
+    @Test
+    void testDeleteDerivatives_RemovesAllVariants() throws Exception {
+        // Given
+        FileAttachment file = image("photo", "jpg", "image/jpeg", 100, 100);
+        Path original = uploadDir.resolve("photo");
+        Path thumb = path(imageDerivativeService.resolve(file, ImageDerivativeService.Variant.THUMB));
+        Path medium = path(imageDerivativeService.resolve(file, ImageDerivativeService.Variant.MEDIUM));
+
+        // When
+        ImageDerivativeService.deleteDerivatives(storageEngine, original.toString());
+
+        // Then
+        assertFalse(Files.exists(thumb));
+        assertFalse(Files.exists(medium));
+        assertTrue(Files.exists(original));
+    }
+
+    @Test
+    void testVariantFrom_RejectsUnknownValue() {
+        // When & Then
+        assertEquals(ImageDerivativeService.Variant.THUMB, ImageDerivativeService.Variant.from("THUMB"));
+        assertThrows(IllegalArgumentException.class, () -> ImageDerivativeService.Variant.from("huge"));
+    }
+
+    private static Path path(String key) {
+        return key != null ? Paths.get(key) : null;
+    }
+
+    private FileAttachment image(String name, String format, String contentType, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Path path = uploadDir.resolve(name);
+        ImageIO.write(image, format, path.toFile());
+        return attachment(path, contentType);
+    }
+
+    private FileAttachment attachment(Path path, String contentType) {
+        FileAttachment file = new FileAttachment();
+        file.setFileId(1L);
+        file.setFilePath(path.toString());
+        file.setContentType(contentType);
+        return file;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.PostMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostCounterReconciliationServiceTest {
+
+    @Mock
+    private PostMapper postMapper;
+
+    @InjectMocks
+    private PostCounterReconciliationService postCounterReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(postCounterReconciliationService, "batchSize", 1000);
+    }
+
+    @Test
+    void testReconcileRunsInPostIdRanges() {
+        // Given
+        when(postMapper.findMaxPostId()).thenReturn(2500L);
+        // 두 번째 구간의 댓글 수 2건, 세 번째 구간의 첨부파일 수 1건이 어긋나 있음
+        when(postMapper.reconcileCommentCounts(anyLong(), anyLong()))
+                .thenAnswer(invocation -> invocation.getArgument(0).equals(1000L) ? 2 : 0);
+        when(postMapper.reconcileFileCounts(anyLong(), anyLong()))
+                .thenAnswer(invocation -> invocation.getArgument(0).equals(2000L) ? 1 : 0);
+
+        // When
+        int fixed = postCounterReconciliationService.reconcile();
+
+        // Then
+        assertEquals(3, fixed);
+        verify(postMapper).reconcileCommentCounts(0L, 1000L);
+        verify(postMapper).reconcileCommentCounts(1000L, 2000L);
+        verify(postMapper).reconcileCommentCounts(2000L, 3000L);
+        verify(postMapper, times(3)).reconcileFileCounts(anyLong(), anyLong());
+    }
+
+    @Test
+    void testReconcileEmptyTableDoesNothing() {
+        // Given
+        when(postMapper.findMaxPostId()).thenReturn(null);
+
+        // When
+        int fixed = postCounterReconciliationService.reconcile();
+
+        // Then
+        assertEquals(0, fixed);
+        verify(postMapper, never()).reconcileCommentCounts(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.boards.service;
+
+import com.example.boards.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostDetailCacheTest {
+
+    private final ContentVersionTracker tracker = new ContentVersionTracker();
+    private final PostDetailCache cache = new PostDetailCache(tracker, 2, 60);
+
+    private Post post(Long postId) {
+        Post post = new Post();
+        post.setPostId(postId);
+        post.setTitle("Post " + postId);
+        return post;
+    }
+
+    @Test
+    void testConcurrentMissesAreLoadedOnce() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<Post> first = executor.submit(() -> cache.get(1L, id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            awaitQuietly(release);
+            return post(id);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<Post> second = executor.submit(() -> cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return post(id);
+        }));
+        while (((Number) cache.stats().get("coalesced")).longValue() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Then
+        assertEquals("Post 1", first.get(5, TimeUnit.SECONDS).getTitle());
+        assertEquals("Post 1", second.get(5, TimeUnit.SECONDS).getTitle());
+        assertEquals(1, loads.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void testVersionChangeAndLruEviction() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, id -> { loads.incrementAndGet(); return post(id); });
+
+        // When
+        cache.get(1L, id -> { loads.incrementAndGet(); return post(id); });
+        tracker.postChanged(1L);
+        cache.get(1L, id -> { loads.incrementAndGet(); return post(id); });
+        cache.get(2L, this::post);
+        cache.get(3L, this::post);
+        cache.get(1L, id -> { loads.incrementAndGet(); return post(id); });
+
+        // Then
+        assertEquals(3, loads.get());
+        assertEquals(2, cache.stats().get("entries"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
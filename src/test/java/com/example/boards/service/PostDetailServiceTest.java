@@ -0,0 +1,83 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.CommentPage;
+import com.example.boards.dto.PostDetail;
+import com.example.boards.model.Comment;
+import com.example.boards.model.Post;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostDetailServiceTest {
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private FileAttachmentService fileAttachmentService;
+
+    @InjectMocks
+    private PostDetailService postDetailService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(postDetailService, "poolSize", 2);
+        ReflectionTestUtils.setField(postDetailService, "queueCapacity", 10);
+        postDetailService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postDetailService.stop();
+    }
+
+    @Test
+    void testGetPostDetailWithCommentLimit() {
+        // Given
+        Post post = new Post();
+        post.setPostId(1L);
+        when(postService.getPostById(1L)).thenReturn(post);
+        when(commentService.getCommentsPage(1L, null, 2))
+                .thenReturn(new CommentPage(Arrays.asList(new Comment(), new Comment()), "next"));
+        when(fileAttachmentService.getFilesByPostId(1L)).thenReturn(new ArrayList<>());
+
+        // When
+        PostDetail detail = postDetailService.getPostDetail(1L, 2);
+
+        // Then
+        assertSame(post, detail.getPost());
+        assertEquals(2, detail.getComments().size());
+        assertTrue(detail.isHasMoreComments());
+        assertEquals("next", detail.getNextCommentCursor());
+        assertTrue(detail.getFiles().isEmpty());
+    }
+
+    @Test
+    void testGetPostDetailNotFound() {
+        // Given
+        when(postService.getPostById(99L)).thenReturn(null);
+        when(commentService.getCommentsPage(99L, null, null)).thenReturn(new CommentPage(new ArrayList<>(), null));
+        when(fileAttachmentService.getFilesByPostId(99L)).thenReturn(new ArrayList<>());
+
+        // When
+        PostDetail detail = postDetailService.getPostDetail(99L, null);
+
+        // Then
+        assertNull(detail);
+    }
+}
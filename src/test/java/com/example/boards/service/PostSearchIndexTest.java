@@ -0,0 +1,105 @@
+package com.example.boards.service;
+
+import com.example.boards.dto.PostSummary;
+import com.example.boards.mapper.PostMapper;
+import com.example.boards.mapper.UserMapper;
+import com.example.boards.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostSearchIndexTest {
+
+    @Mock
+    private PostMapper postMapper;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @InjectMocks
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(postMapper.findAllForSearchIndex()).thenReturn(Arrays.asList(
+                summary(1L, "Spring Boot 프로젝트 시작하기", "user1", "홍길동"),
+                summary(2L, "React Hooks 사용법 정리", "user1", "홍길동"),
+                summary(3L, "스프링 시큐리티 설정", "user2", "김철수"),
+                summary(4L, "Spring", "user2", "김철수")));
+        postSearchIndex.rebuild();
+    }
+
+    @Test
+    void testSearchReturnsNullBeforeBuild() {
+        PostSearchIndex notBuilt = new PostSearchIndex();
+        assertNull(notBuilt.search("spring"));
+    }
+
+    @Test
+    void testSearchTitleSubstringCaseInsensitive() {
+        // 정확히 일치하는 제목이 먼저, 나머지는 최신순
+        assertEquals(Arrays.asList(4L, 1L), postSearchIndex.search("SPRING"));
+    }
+
+    @Test
+    void testSearchKoreanSubstring() {
+        assertEquals(Arrays.asList(1L), postSearchIndex.search("프로젝"));
+        assertEquals(Arrays.asList(3L), postSearchIndex.search("시큐"));
+    }
+
+    @Test
+    void testSearchSingleCharacter() {
+        List<Long> result = postSearchIndex.search("정");
+        assertEquals(Arrays.asList(3L, 2L), result);
+    }
+
+    @Test
+    void testSearchAuthorName() {
+        assertEquals(Arrays.asList(4L, 3L), postSearchIndex.search("철수"));
+    }
+
+    @Test
+    void testSearchRequiresContiguousMatch() {
+        // 2-gram 은 모두 존재하지만 연속된 문자열은 아님
+        assertTrue(postSearchIndex.search("시작정리").isEmpty());
+    }
+
+    @Test
+    void testAddUpdateRemove() {
+        // Given
+        User author = new User();
+        author.setUserId("user3");
+        author.setName("이영희");
+        when(userMapper.findByUserId("user3")).thenReturn(author);
+
+        // When
+        postSearchIndex.add(5L, "새 글", "user3", null);
+        postSearchIndex.update(1L, "제목 변경됨");
+        postSearchIndex.remove(2L);
+
+        // Then
+        assertEquals(Arrays.asList(5L), postSearchIndex.search("영희"));
+        assertEquals(Arrays.asList(4L), postSearchIndex.search("spring"));
+        assertEquals(Arrays.asList(1L), postSearchIndex.search("변경"));
+        assertTrue(postSearchIndex.search("hooks").isEmpty());
+    }
+
+    private PostSummary summary(Long postId, String title, String authorId, String authorName) {
+        PostSummary summary = new PostSummary();
+        summary.setPostId(postId);
+        summary.setTitle(title);
+        summary.setAuthorId(authorId);
+        summary.setAuthorName(authorName);
+        return summary;
+    }
+}
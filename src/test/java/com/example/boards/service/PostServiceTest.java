@@ -1,5 +1,11 @@
 package com.example.boards.service;
 
+import com.example.boards.dto.PostAccess;
+import com.example.boards.dto.PostCount;
+import com.example.boards.dto.PostCursor;
+import com.example.boards.dto.PostPage;
+import com.example.boards.dto.PostSummary;
+import com.example.boards.mapper.FileAttachmentMapper;
 import com.example.boards.mapper.PostMapper;
 import com.example.boards.model.Post;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,7 +13,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.Date;
@@ -23,13 +31,54 @@ class PostServiceTest {
     @Mock
     private PostMapper postMapper;
 
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Spy
+    private PostCountCache postCountCache = new PostCountCache();
+
+    @Spy
+    private PostListCache postListCache = new PostListCache();
+
+    @Mock
+    private ViewCountBuffer viewCountBuffer;
+
+    @Mock
+    private ContentVersionTracker contentVersionTracker;
+
+    @Mock
+    private ActivityStreamHub activityStreamHub;
+
+    @Mock
+    private UserDisplayNameCache userDisplayNameCache;
+
+    @Mock
+    private FileAttachmentMapper fileAttachmentMapper;
+
+    @Mock
+    private AttachmentContentStore attachmentContentStore;
+
+    @Spy
+    private PostDetailCache postDetailCache = new PostDetailCache(new ContentVersionTracker(), 100, 60);
+
+    @Spy
+    private PostAccessCache postAccessCache = new PostAccessCache(100);
+
     @InjectMocks
     private PostService postService;
 
     private Post testPost;
+    private PostSummary testSummary;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(postService, "approximateThreshold", 10000);
+        ReflectionTestUtils.setField(postCountCache, "searchTtlSeconds", 30L);
+        ReflectionTestUtils.setField(postCountCache, "maxSearchEntries", 1000);
+        ReflectionTestUtils.setField(postListCache, "cachedPages", 0);
+        ReflectionTestUtils.setField(postListCache, "ttlSeconds", 10L);
+        ReflectionTestUtils.setField(postListCache, "pageSize", 20);
+
         testPost = new Post();
         testPost.setPostId(1L);
         testPost.setTitle("Test Post");
@@ -40,16 +89,26 @@ class PostServiceTest {
         testPost.setViewCount(0);
         testPost.setCreatedAt(new Date());
         testPost.setUpdatedAt(new Date());
+
+        testSummary = new PostSummary();
+        testSummary.setPostId(1L);
+        testSummary.setTitle("Test Post");
+        testSummary.setExcerpt("Test Content");
+        testSummary.setAuthorId("testuser");
+        testSummary.setAuthorName("Test User");
+        testSummary.setIsNotice(false);
+        testSummary.setViewCount(0);
+        testSummary.setCreatedAt(new Date());
     }
 
     @Test
     void testGetAllPosts() {
         // Given
-        List<Post> mockPosts = Arrays.asList(testPost);
+        List<PostSummary> mockPosts = Arrays.asList(testSummary);
         when(postMapper.findAll(20, 0, null)).thenReturn(mockPosts);
 
         // When
-        List<Post> result = postService.getAllPosts(20, 0, null);
+        List<PostSummary> result = postService.getAllPosts(20, 0, null);
 
         // Then
         assertNotNull(result);
@@ -57,14 +116,47 @@ class PostServiceTest {
         verify(postMapper).findAll(20, 0, null);
     }
 
+    @Test
+    void testFirstPageIsCachedUntilPostsChange() {
+        // Given
+        ReflectionTestUtils.setField(postListCache, "cachedPages", 3);
+        when(postMapper.findAll(20, 0, null)).thenReturn(Arrays.asList(testSummary));
+
+        // When
+        postService.getAllPosts(20, 0, null);
+        List<PostSummary> cached = postService.getAllPosts(20, 0, null);
+        postService.createPost(testPost);
+        postService.getAllPosts(20, 0, null);
+
+        // Then
+        assertEquals(1, cached.size());
+        verify(postMapper, times(2)).findAll(20, 0, null);
+        assertEquals(1L, postListCache.stats().get("hits"));
+    }
+
+    @Test
+    void testOnlyDefaultPageSizeIsCached() {
+        // Given
+        ReflectionTestUtils.setField(postListCache, "cachedPages", 3);
+        when(postMapper.findAll(7, 0, null)).thenReturn(Arrays.asList(testSummary));
+
+        // When
+        postService.getAllPosts(7, 0, null);
+        postService.getAllPosts(7, 0, null);
+
+        // Then
+        verify(postMapper, times(2)).findAll(7, 0, null);
+        assertEquals(0, postListCache.stats().get("entries"));
+    }
+
     @Test
     void testGetAllPostsWithSearchQuery() {
         // Given
-        List<Post> mockPosts = Arrays.asList(testPost);
+        List<PostSummary> mockPosts = Arrays.asList(testSummary);
         when(postMapper.findAll(20, 0, "test")).thenReturn(mockPosts);
 
         // When
-        List<Post> result = postService.getAllPosts(20, 0, "test");
+        List<PostSummary> result = postService.getAllPosts(20, 0, "test");
 
         // Then
         assertNotNull(result);
@@ -72,6 +164,61 @@ class PostServiceTest {
         verify(postMapper).findAll(20, 0, "test");
     }
 
+    @Test
+    void testGetAllPostsWithFullTextBackend() {
+        // Given
+        ReflectionTestUtils.setField(postService, "searchBackend", "fulltext");
+        List<PostSummary> mockPosts = Arrays.asList(testSummary);
+        when(postMapper.findAllFullText(20, 0, "+spring* +boot*", "spring boot", true)).thenReturn(mockPosts);
+
+        // When
+        List<PostSummary> result = postService.getAllPosts(20, 0, " spring boot ", true);
+
+        // Then
+        assertEquals(1, result.size());
+        verify(postMapper, never()).findAll(any(), any(), any());
+    }
+
+    @Test
+    void testGetPostPageSearchesIndexOnce() {
+        // Given
+        ReflectionTestUtils.setField(postService, "searchBackend", "index");
+        when(postSearchIndex.search("test")).thenReturn(Arrays.asList(3L, 1L, 2L));
+        when(postMapper.findSummariesByIds(Arrays.asList(3L, 1L))).thenReturn(Arrays.asList(testSummary));
+
+        // When
+        PostPage page = postService.getPostPage(2, 0, "test", false);
+
+        // Then
+        assertEquals(1, page.getPosts().size());
+        assertEquals(3, page.getCount().getCount());
+        assertFalse(page.getCount().isApproximate());
+        verify(postSearchIndex, times(1)).search("test");
+        verify(postMapper, never()).countAllCapped(any(), anyInt());
+    }
+
+    @Test
+    void testToBooleanModeQueryStripsOperators() {
+        assertEquals("+스프링* +boot*", PostService.toBooleanModeQuery("+스프링 \"-boot*\""));
+        assertNull(PostService.toBooleanModeQuery("+ - ~"));
+    }
+
+    @Test
+    void testGetPostsAfterCursor() {
+        // Given
+        PostCursor cursor = PostCursor.decode(new PostCursor(false, new Date(), 10L).encode());
+        List<PostSummary> mockPosts = Arrays.asList(testSummary);
+        when(postMapper.findAllAfterCursor(21, cursor, null)).thenReturn(mockPosts);
+
+        // When
+        List<PostSummary> result = postService.getPostsAfterCursor(21, cursor, null);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(Long.valueOf(10L), cursor.getPostId());
+        verify(postMapper).findAllAfterCursor(21, cursor, null);
+    }
+
     @Test
     void testGetTotalCount() {
         // Given
@@ -85,22 +232,127 @@ class PostServiceTest {
         verify(postMapper).countAll(null);
     }
 
+    @Test
+    void testGetTotalCountIsMaintainedInMemory() {
+        // Given
+        when(postMapper.countAll(null)).thenReturn(10);
+        when(postMapper.deletePost(1L)).thenReturn(1);
+        postService.getTotalCount(null);
+
+        // When
+        postService.createPost(testPost);
+        postService.createPost(testPost);
+        postService.deletePost(1L);
+
+        // Then
+        assertEquals(11, postService.getTotalCount(null));
+        verify(postMapper, times(1)).countAll(null);
+    }
+
+    @Test
+    void testSearchCountIsCachedUntilPostsChange() {
+        // Given
+        when(postMapper.countAllCapped("test", 10000)).thenReturn(3);
+
+        // When
+        postService.countPosts("test");
+        PostCount cached = postService.countPosts("test");
+        postService.updatePost(testPost);
+        postService.countPosts("test");
+
+        // Then
+        assertEquals(3, cached.getCount());
+        assertFalse(cached.isApproximate());
+        verify(postMapper, times(2)).countAllCapped("test", 10000);
+    }
+
+    @Test
+    void testBroadSearchCountIsApproximate() {
+        // Given
+        when(postMapper.countAllCapped("a", 10000)).thenReturn(10000);
+
+        // When
+        PostCount result = postService.countPosts("a");
+
+        // Then
+        assertEquals(10000, result.getCount());
+        assertTrue(result.isApproximate());
+    }
+
     @Test
     void testGetPostById() {
         // Given
         when(postMapper.findById(1L)).thenReturn(testPost);
+        when(viewCountBuffer.getPending(1L)).thenReturn(2L);
 
         // When
         Post result = postService.getPostById(1L);
 
         // Then
         assertNotNull(result);
-        assertEquals(1L, result.getPostId());
+        assertEquals(Long.valueOf(1L), result.getPostId());
         assertEquals("Test Post", result.getTitle());
-        verify(postMapper).incrementViewCount(1L);
+        assertEquals(Integer.valueOf(2), result.getViewCount());
+        verify(viewCountBuffer).increment(1L);
         verify(postMapper).findById(1L);
     }
 
+    @Test
+    void testGetPostByIdServedFromCacheStillCountsViews() {
+        // Given
+        when(postMapper.findById(1L)).thenReturn(testPost);
+
+        // When
+        postService.getPostById(1L);
+        Post cached = postService.getPostById(1L);
+        postService.updatePost(testPost);
+        postService.getPostById(1L);
+
+        // Then
+        assertEquals("Test Post", cached.getTitle());
+        assertNotSame(testPost, cached);
+        verify(postMapper, times(2)).findById(1L);
+        verify(viewCountBuffer, times(3)).increment(1L);
+    }
+
+    @Test
+    void testGetPostAccessUsesCacheWithoutViewCount() {
+        // Given
+        PostAccess access = new PostAccess();
+        access.setPostId(1L);
+        access.setAuthorId("testuser");
+        when(postMapper.findAccessById(1L)).thenReturn(access);
+
+        // When
+        postService.getPostAccess(1L);
+        PostAccess result = postService.getPostAccess(1L);
+        postService.deleteExcelFile(1L);
+        postService.getPostAccess(1L);
+
+        // Then
+        assertEquals("testuser", result.getAuthorId());
+        verify(postMapper, times(2)).findAccessById(1L);
+        verify(postMapper, never()).findById(anyLong());
+        verify(viewCountBuffer, never()).increment(anyLong());
+    }
+
+    @Test
+    void testRecordViewIgnoresMissingPost() {
+        // Given
+        PostAccess access = new PostAccess();
+        access.setPostId(1L);
+        access.setAuthorId("testuser");
+        when(postMapper.findAccessById(1L)).thenReturn(access);
+
+        // When
+        postService.recordView(1L);
+        postService.recordView(999L);
+
+        // Then
+        verify(viewCountBuffer).increment(1L);
+        verify(viewCountBuffer, never()).increment(999L);
+    }
+
     @Test
     void testCreatePost() {
         // Given
@@ -114,6 +366,26 @@ class PostServiceTest {
 
         // Then
         verify(postMapper).insertPost(newPost);
+        assertEquals("New Content", newPost.getExcerpt());
+    }
+
+    @Test
+    void testCreatePostTruncatesExcerpt() {
+        // Given
+        Post newPost = new Post();
+        newPost.setTitle("Long Post");
+        StringBuilder content = new StringBuilder("첫 줄\n\n");
+        for (int i = 0; i < 200; i++) {
+            content.append('가');
+        }
+        newPost.setContent(content.toString());
+
+        // When
+        postService.createPost(newPost);
+
+        // Then
+        assertEquals(100, newPost.getExcerpt().length());
+        assertTrue(newPost.getExcerpt().startsWith("첫 줄 가"));
     }
 
     @Test
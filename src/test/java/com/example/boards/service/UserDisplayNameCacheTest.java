@@ -0,0 +1,61 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.UserMapper;
+import com.example.boards.model.Comment;
+import com.example.boards.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDisplayNameCacheTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    private UserDisplayNameCache userDisplayNameCache;
+
+    @BeforeEach
+    void setUp() {
+        userDisplayNameCache = new UserDisplayNameCache(100);
+        ReflectionTestUtils.setField(userDisplayNameCache, "userMapper", userMapper);
+    }
+
+    private Comment comment(String authorId) {
+        Comment comment = new Comment();
+        comment.setAuthorId(authorId);
+        return comment;
+    }
+
+    @Test
+    void testFillNamesLoadsOnlyMissingUsersOnce() {
+        // Given
+        userDisplayNameCache.put("user1", "홍길동");
+        User user2 = new User();
+        user2.setUserId("user2");
+        user2.setName("김철수");
+        when(userMapper.findNamesByUserIds(Collections.singletonList("user2")))
+                .thenReturn(Collections.singletonList(user2));
+        List<Comment> comments = Arrays.asList(comment("user1"), comment("user2"), comment("user2"));
+
+        // When
+        userDisplayNameCache.fillNames(comments, Comment::getAuthorId, Comment::setAuthorName);
+        String cached = userDisplayNameCache.getName("user2");
+
+        // Then
+        assertEquals("홍길동", comments.get(0).getAuthorName());
+        assertEquals("김철수", comments.get(2).getAuthorName());
+        assertEquals("김철수", cached);
+        verify(userMapper, times(1)).findNamesByUserIds(anyList());
+    }
+}
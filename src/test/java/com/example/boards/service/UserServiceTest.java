@@ -26,6 +26,9 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserDisplayNameCache userDisplayNameCache;
+
     @InjectMocks
     private UserService userService;
 
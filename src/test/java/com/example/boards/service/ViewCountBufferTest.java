@@ -0,0 +1,129 @@
+package com.example.boards.service;
+
+import com.example.boards.mapper.PostMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountBufferTest {
+
+    @Mock
+    private PostMapper postMapper;
+
+    @InjectMocks
+    private ViewCountBuffer viewCountBuffer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(viewCountBuffer, "batchSize", 500);
+    }
+
+    @Test
+    void testFlushWritesPendingViewsInOneBatch() {
+        // Given
+        viewCountBuffer.increment(1L);
+        viewCountBuffer.increment(1L);
+        viewCountBuffer.increment(2L);
+
+        // When
+        int flushed = viewCountBuffer.flush();
+
+        // Then
+        Map<Long, Long> expected = new HashMap<>();
+        expected.put(1L, 2L);
+        expected.put(2L, 1L);
+        verify(postMapper).addViewCounts(expected);
+        assertEquals(2, flushed);
+        assertEquals(0, viewCountBuffer.getPending(1L));
+    }
+
+    @Test
+    void testFailedFlushKeepsPendingViews() {
+        // Given
+        viewCountBuffer.increment(1L);
+        doThrow(new RuntimeException("db down")).when(postMapper).addViewCounts(anyMap());
+
+        // When
+        int flushed = viewCountBuffer.flush();
+
+        // Then
+        assertEquals(0, flushed);
+        assertEquals(1, viewCountBuffer.getPending(1L));
+    }
+
+    @Test
+    void testFlushRemovesDrainedEntries() {
+        // Given
+        viewCountBuffer.increment(1L);
+        viewCountBuffer.increment(2L);
+
+        // When
+        viewCountBuffer.flush();
+        viewCountBuffer.increment(2L);
+
+        // Then
+        assertEquals(1, viewCountBuffer.size());
+        assertEquals(1, viewCountBuffer.getPending(2L));
+    }
+
+    @Test
+    void testConcurrentIncrementsAreNotLostOrDoubleCounted() throws Exception {
+        // Given
+        AtomicLong written = new AtomicLong();
+        doAnswer(invocation -> {
+            Map<Long, Long> batch = invocation.getArgument(0);
+            batch.values().forEach(written::addAndGet);
+            return null;
+        }).when(postMapper).addViewCounts(anyMap());
+        int threads = 4;
+        int perThread = 20000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    viewCountBuffer.increment((long) (i % 3));
+                }
+                done.countDown();
+            });
+        }
+        pool.execute(() -> {
+            while (running.get()) {
+                viewCountBuffer.flush();
+            }
+        });
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        running.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        viewCountBuffer.flush();
+
+        // Then
+        assertEquals((long) threads * perThread, written.get());
+        assertEquals(0, viewCountBuffer.size());
+    }
+}
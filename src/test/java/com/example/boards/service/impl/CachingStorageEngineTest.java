@@ -0,0 +1,121 @@
+package com.example.boards.service.impl;
+
+import com.example.boards.service.StorageEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingStorageEngineTest {
+
+    private Path uploadDir;
+    private LocalStorageEngine localStorageEngine;
+    private CachingStorageEngine cachingStorageEngine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("caching-storage");
+        localStorageEngine = new LocalStorageEngine(uploadDir.toString());
+        cachingStorageEngine = new CachingStorageEngine(localStorageEngine, 10, 6);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+
+    @Test
+    void testStream_CachesOnSecondRequest() throws Exception {
+        // Given
+        String key = store("aaaa_one", new byte[]{1, 2, 3, 4});
+
+        // When
+        byte[] first = stream(key, 0, 4);
+        byte[] second = stream(key, 1, 2);
+        Files.delete(localStorageEngine.localFile(key));
+        byte[] third = stream(key, 0, 4);
+
+        // Then
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, first);
+        assertArrayEquals(new byte[]{2, 3}, second);
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, third);
+        Map<String, Object> stats = cachingStorageEngine.stats();
+        assertEquals(1, stats.get("memoryCacheEntries"));
+        assertEquals(1L, stats.get("memoryCacheHits"));
+        assertEquals(2L, stats.get("memoryCacheMisses"));
+    }
+
+    @Test
+    void testStat_SmallLocalFileIsStreamedAndLargeFileKeepsPath() throws Exception {
+        // Given
+        String small = store("aaaa_small", new byte[]{1, 2});
+        String large = store("bbbb_large", new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        // When
+        StorageEngine.ObjectInfo smallInfo = cachingStorageEngine.stat(small);
+        StorageEngine.ObjectInfo largeInfo = cachingStorageEngine.stat(large);
+
+        // Then
+        assertEquals(2, smallInfo.getSize());
+        assertNull(smallInfo.getFile());
+        assertEquals(8, largeInfo.getSize());
+        assertNotNull(largeInfo.getFile());
+        assertNull(cachingStorageEngine.stat(cachingStorageEngine.keyFor("cccc_missing")));
+    }
+
+    @Test
+    void testStream_EvictsLeastRecentlyUsedOverBudget() throws Exception {
+        // Given
+        String first = store("aaaa_first", new byte[]{1, 1, 1, 1});
+        String second = store("bbbb_second", new byte[]{2, 2, 2, 2});
+        String third = store("cccc_third", new byte[]{3, 3, 3, 3});
+
+        // When
+        for (String key : new String[]{first, first, second, second, third, third}) {
+            stream(key, 0, 4);
+        }
+
+        // Then
+        Map<String, Object> stats = cachingStorageEngine.stats();
+        assertEquals(2, stats.get("memoryCacheEntries"));
+        assertEquals(8L, stats.get("memoryCacheBytes"));
+        assertEquals(1L, stats.get("memoryCacheEvictions"));
+    }
+
+    @Test
+    void testDelete_InvalidatesCachedObject() throws Exception {
+        // Given
+        String key = store("aaaa_gone", new byte[]{1, 2, 3});
+        stream(key, 0, 3);
+        stream(key, 0, 3);
+
+        // When
+        boolean deleted = cachingStorageEngine.delete(key);
+
+        // Then
+        assertTrue(deleted);
+        assertNull(cachingStorageEngine.stat(key));
+        assertEquals(0, cachingStorageEngine.stats().get("memoryCacheEntries"));
+    }
+
+    private String store(String filename, byte[] content) throws Exception {
+        Path source = Files.write(uploadDir.resolve(filename + ".src"), content);
+        String key = cachingStorageEngine.keyFor(filename);
+        cachingStorageEngine.put(key, source);
+        Files.delete(source);
+        return key;
+    }
+
+    private byte[] stream(String key, long offset, long length) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cachingStorageEngine.stream(key, offset, length, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.boards.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RangeFileSenderTest {
+
+    private Path tempDir;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("range-sender");
+        file = tempDir.resolve("data.txt");
+        Files.write(file, "0123456789".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(tempDir);
+    }
+
+    @Test
+    public void testSend_FullFile() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/files/download/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        RangeFileSender.send(request, response, file, "text/plain", "attachment; filename=\"data.txt\"");
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("attachment; filename=\"data.txt\"", response.getHeader("Content-Disposition"));
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    public void testSend_PartialRange() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/files/download/1");
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        RangeFileSender.send(request, response, file, "text/plain", null);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    public void testSend_SuffixAndOpenEndedRange() throws Exception {
+        // Given
+        MockHttpServletRequest suffixRequest = new MockHttpServletRequest("GET", "/");
+        suffixRequest.addHeader("Range", "bytes=-3");
+        MockHttpServletRequest openRequest = new MockHttpServletRequest("GET", "/");
+        openRequest.addHeader("Range", "bytes=7-");
+        MockHttpServletResponse suffixResponse = new MockHttpServletResponse();
+        MockHttpServletResponse openResponse = new MockHttpServletResponse();
+
+        // When
+        RangeFileSender.send(suffixRequest, suffixResponse, file, "text/plain", null);
+        RangeFileSender.send(openRequest, openResponse, file, "text/plain", null);
+
+        // Then
+        assertEquals("bytes 7-9/10", suffixResponse.getHeader("Content-Range"));
+        assertEquals("789", suffixResponse.getContentAsString());
+        assertEquals("bytes 7-9/10", openResponse.getHeader("Content-Range"));
+        assertEquals("789", openResponse.getContentAsString());
+    }
+
+    @Test
+    public void testSend_UnsatisfiableRange() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=20-30");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        RangeFileSender.send(request, response, file, "text/plain", null);
+
+        // Then
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testSend_MultipleRangesServesFullFile() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=0-1,4-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        RangeFileSender.send(request, response, file, "text/plain", null);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    public void testSend_IfRangeMismatchServesFullFile() throws Exception {
+        // Given
+        MockHttpServletRequest matching = new MockHttpServletRequest("GET", "/");
+        matching.addHeader("Range", "bytes=2-5");
+        matching.addHeader("If-Range", "\"a1\"");
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/");
+        stale.addHeader("Range", "bytes=2-5");
+        stale.addHeader("If-Range", "\"a0\"");
+        MockHttpServletResponse matchingResponse = new MockHttpServletResponse();
+        MockHttpServletResponse staleResponse = new MockHttpServletResponse();
+
+        // When
+        RangeFileSender.send(matching, matchingResponse, file, "text/plain", null, "\"a1\"");
+        RangeFileSender.send(stale, staleResponse, file, "text/plain", null, "\"a1\"");
+
+        // Then
+        assertEquals(206, matchingResponse.getStatus());
+        assertEquals("2345", matchingResponse.getContentAsString());
+        assertEquals(200, staleResponse.getStatus());
+        assertEquals("0123456789", staleResponse.getContentAsString());
+    }
+
+    @Test
+    public void testSend_UsesTomcatSendfileWhenSupported() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=2-5");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        RangeFileSender.send(request, response, file, "text/plain", null);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    /**
+     * 기존 스트림 복사(UrlResource → StreamUtils) 와 FileChannel.transferTo 비교
+     * 기본 빌드에서는 건너뛰며 -Dbenchmark=true 로 실행합니다.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkStreamCopyVersusTransferTo() throws Exception {
+        // Given
+        Path large = tempDir.resolve("large.bin");
+        byte[] block = new byte[1024 * 1024];
+        new Random(42).nextBytes(block);
+        try (OutputStream out = Files.newOutputStream(large)) {
+            for (int i = 0; i < 256; i++) {
+                out.write(block);
+            }
+        }
+        Path target = tempDir.resolve("copy.bin");
+        int rounds = 5;
+
+        // When
+        long streamNanos = 0;
+        long transferNanos = 0;
+        for (int i = 0; i < rounds; i++) {
+            long begin = System.nanoTime();
+            try (InputStream in = Files.newInputStream(large);
+                 OutputStream out = Files.newOutputStream(target)) {
+                StreamUtils.copy(in, out);
+            }
+            streamNanos += System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            try (FileChannel channel = FileChannel.open(large, StandardOpenOption.READ);
+                 OutputStream out = Files.newOutputStream(target)) {
+                WritableByteChannel sink = Channels.newChannel(out);
+                long position = 0;
+                long size = channel.size();
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, sink);
+                }
+            }
+            transferNanos += System.nanoTime() - begin;
+        }
+
+        // Then
+        System.out.println("stream copy: " + streamNanos / rounds / 1_000_000 + " ms/256MB, "
+                + "transferTo: " + transferNanos / rounds / 1_000_000 + " ms/256MB");
+        assertEquals(Files.size(large), Files.size(target));
+    }
+}
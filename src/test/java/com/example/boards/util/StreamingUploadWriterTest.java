@@ -0,0 +1,131 @@
+package com.example.boards.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingUploadWriterTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("upload-writer");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(tempDir);
+    }
+
+    @Test
+    public void testWrite_StoresBytesAndChecksum() throws Exception {
+        // Given
+        byte[] content = new byte[200 * 1024];
+        Arrays.fill(content, (byte) 7);
+        Path target = tempDir.resolve("data.bin");
+
+        // When
+        StreamingUploadWriter.StoredUpload stored =
+                StreamingUploadWriter.write(new ByteArrayInputStream(content), target, null);
+
+        // Then
+        assertTrue(stored.isValid());
+        assertEquals(content.length, stored.getSize());
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(sha256Hex(content), stored.getSha256());
+    }
+
+    @Test
+    public void testWrite_ValidatorSeesSameBytesAndRemainderIsSaved() throws Exception {
+        // Given
+        byte[] content = new byte[150 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path target = tempDir.resolve("partial-read.bin");
+        byte[] seen = new byte[1024];
+
+        // When - 검증기는 앞부분만 읽고 스트림을 닫음
+        StreamingUploadWriter.StoredUpload stored = StreamingUploadWriter.write(
+                new ByteArrayInputStream(content), target, in -> {
+                    Map<String, Object> result = new HashMap<>();
+                    try {
+                        int read = in.read(seen);
+                        in.skip(10);
+                        in.close();
+                        result.put("isValid", read == seen.length);
+                    } catch (IOException e) {
+                        result.put("isValid", false);
+                    }
+                    return result;
+                });
+
+        // Then
+        assertTrue(stored.isValid());
+        assertArrayEquals(Arrays.copyOf(content, seen.length), seen);
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(sha256Hex(content), stored.getSha256());
+    }
+
+    @Test
+    public void testWrite_InvalidFileIsRemoved() throws Exception {
+        // Given
+        byte[] content = "not an excel file".getBytes(StandardCharsets.UTF_8);
+        Path target = tempDir.resolve("broken.xlsx");
+
+        // When
+        StreamingUploadWriter.StoredUpload stored = StreamingUploadWriter.write(
+                new ByteArrayInputStream(content), target,
+                in -> ExcelValidator.validateExcelFile(in, "broken.xlsx"));
+
+        // Then
+        assertFalse(stored.isValid());
+        assertNotNull(stored.getValidation().get("error"));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    public void testWrite_ReadFailureRemovesPartialFile() {
+        // Given
+        Path target = tempDir.resolve("partial.bin");
+        InputStream failing = new InputStream() {
+            private int remaining = 100 * 1024;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("connection reset");
+                }
+                return 1;
+            }
+        };
+
+        // When & Then
+        assertThrows(IOException.class, () -> StreamingUploadWriter.write(failing, target, null));
+        assertFalse(Files.exists(target));
+    }
+
+    private String sha256Hex(byte[] content) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}